@@ -0,0 +1,252 @@
+package com.valsong.swagger.plugin;
+
+import com.valsong.swagger.util.SwaggerExampleClassBuilder;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.valsong.swagger.constant.SwaggerScannerConstants.EXAMPLE_CLASS_INDEX_LOCATION;
+import static com.valsong.swagger.constant.SwaggerScannerConstants.PREBUILT_EXAMPLE_PACKAGE;
+
+/**
+ * 构建时生成参数class
+ * <p>
+ * 在编译之后遍历输出目录中的类,对标有指定注解的方法使用与运行时相同的类型分析生成参数class,
+ * 参数名称和类型都相同的方法共用同一个class,
+ * 写入到输出目录并生成 META-INF/swagger-scanner-examples.index,格式为 key=className;
+ * 运行时SwaggerExampleClassBuilder按key加载生成好的class,方法签名、参数名称或泛型声明变化后key随之变化,
+ * 找不到对应的class时仍然使用byte buddy生成
+ *
+ * @author Val Song
+ */
+@Mojo(name = "generate-examples", defaultPhase = LifecyclePhase.PROCESS_CLASSES,
+        requiresDependencyResolution = ResolutionScope.COMPILE, threadSafe = true)
+public class GenerateExampleClassesMojo extends AbstractMojo {
+
+    private static final String CLASS_FILE_SUFFIX = ".class";
+
+    /**
+     * 编译输出目录,生成的class和索引也写入该目录
+     */
+    @Parameter(defaultValue = "${project.build.outputDirectory}", required = true)
+    private File outputDirectory;
+
+    /**
+     * 编译classpath,包括输出目录
+     */
+    @Parameter(defaultValue = "${project.compileClasspathElements}", readonly = true, required = true)
+    private List<String> classpathElements;
+
+    /**
+     * scanner扫描的方法注解
+     */
+    @Parameter(required = true)
+    private List<String> annotations;
+
+    @Parameter(property = "swagger.scanner.skip", defaultValue = "false")
+    private boolean skip;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        if (skip) {
+            getLog().info("swagger example class generation is skipped.");
+            return;
+        }
+        if (!outputDirectory.isDirectory()) {
+            getLog().info("no classes found in " + outputDirectory + ", swagger example class generation is skipped.");
+            return;
+        }
+
+        Thread currentThread = Thread.currentThread();
+        ClassLoader contextClassLoader = currentThread.getContextClassLoader();
+        try (URLClassLoader classLoader = new URLClassLoader(toUrls(classpathElements),
+                getClass().getClassLoader())) {
+            //LocalVariableTableParameterNameDiscoverer和byte buddy可能使用线程上下文的classLoader
+            currentThread.setContextClassLoader(classLoader);
+
+            List<Class<? extends Annotation>> annotationClazzes = loadAnnotations(classLoader);
+
+            //删除之前生成的class,方法修改后旧的class不再被引用
+            deleteGenerated();
+
+            //key -> className
+            Map<String, String> index = new TreeMap<>();
+            //已经生成的class
+            Set<String> generatedClassNames = new HashSet<>();
+            for (String className : classNames()) {
+                Class<?> clazz;
+                try {
+                    clazz = Class.forName(className, false, classLoader);
+                } catch (ClassNotFoundException | LinkageError e) {
+                    getLog().debug("class: " + className + " can't be loaded, it is skipped.", e);
+                    continue;
+                }
+                generate(clazz, annotationClazzes, index, generatedClassNames);
+            }
+
+            writeIndex(index);
+            getLog().info("generated " + generatedClassNames.size() + " swagger example classes for "
+                    + index.size() + " methods in " + outputDirectory + ".");
+        } catch (IOException e) {
+            throw new MojoExecutionException("swagger example class generation failed!", e);
+        } finally {
+            currentThread.setContextClassLoader(contextClassLoader);
+        }
+    }
+
+    /**
+     * 生成类中标有注解的方法的参数class
+     *
+     * @param clazz
+     * @param annotationClazzes
+     * @param index
+     * @param generatedClassNames
+     * @throws IOException
+     */
+    private void generate(Class<?> clazz, List<Class<? extends Annotation>> annotationClazzes,
+                          Map<String, String> index, Set<String> generatedClassNames) throws IOException {
+        Method[] methods;
+        try {
+            methods = ReflectionUtils.getAllDeclaredMethods(clazz);
+        } catch (LinkageError e) {
+            getLog().debug("methods of class: " + clazz.getName() + " can't be resolved, it is skipped.", e);
+            return;
+        }
+        for (Method method : methods) {
+            if (annotationClazzes.stream().noneMatch(a -> AnnotationUtils.findAnnotation(method, a) != null)) {
+                continue;
+            }
+            String key = SwaggerExampleClassBuilder.prebuiltKey(method, clazz);
+            if (index.containsKey(key)) {
+                continue;
+            }
+            String structureKey = SwaggerExampleClassBuilder.structureKey(method, clazz);
+            //没有参数的方法直接使用SwaggerExample
+            if (structureKey == null) {
+                continue;
+            }
+            String className = SwaggerExampleClassBuilder.prebuiltClassName(structureKey);
+            //参数名称和类型都相同的方法共用同一个class
+            if (generatedClassNames.add(className)) {
+                SwaggerExampleClassBuilder.make(method, clazz, className).saveIn(outputDirectory);
+                getLog().debug("generated " + className + " for " + method + ".");
+            }
+            index.put(key, className);
+        }
+    }
+
+    /**
+     * 写入索引,没有生成任何class时删除之前的索引
+     *
+     * @param index
+     * @throws IOException
+     */
+    private void writeIndex(Map<String, String> index) throws IOException {
+        Path indexFile = outputDirectory.toPath().resolve(EXAMPLE_CLASS_INDEX_LOCATION);
+        if (index.isEmpty()) {
+            Files.deleteIfExists(indexFile);
+            return;
+        }
+        Files.createDirectories(indexFile.getParent());
+        Properties properties = new Properties();
+        properties.putAll(index);
+        try (OutputStream outputStream = Files.newOutputStream(indexFile)) {
+            properties.store(outputStream, "generated by swagger-scanner-maven-plugin");
+        }
+    }
+
+    /**
+     * 删除之前生成的参数class
+     *
+     * @throws IOException
+     */
+    private void deleteGenerated() throws IOException {
+        Path generated = outputDirectory.toPath().resolve(PREBUILT_EXAMPLE_PACKAGE.replace('.', File.separatorChar));
+        if (!Files.isDirectory(generated)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.list(generated)) {
+            for (Path path : paths.filter(p -> p.toString().endsWith(CLASS_FILE_SUFFIX))
+                    .collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Class<? extends Annotation>> loadAnnotations(ClassLoader classLoader)
+            throws MojoExecutionException {
+        List<Class<? extends Annotation>> annotationClazzes = new ArrayList<>();
+        for (String annotation : annotations) {
+            try {
+                Class<?> clazz = Class.forName(annotation.trim(), false, classLoader);
+                if (!clazz.isAnnotation()) {
+                    throw new MojoExecutionException(annotation + " is not an annotation!");
+                }
+                annotationClazzes.add((Class<? extends Annotation>) clazz);
+            } catch (ClassNotFoundException e) {
+                throw new MojoExecutionException("annotation: " + annotation + " not found!", e);
+            }
+        }
+        return annotationClazzes;
+    }
+
+    /**
+     * 输出目录中的所有类,不包括之前生成的参数class
+     *
+     * @return
+     * @throws IOException
+     */
+    private List<String> classNames() throws IOException {
+        Path root = outputDirectory.toPath();
+        String generatedPrefix = PREBUILT_EXAMPLE_PACKAGE + ".";
+        try (Stream<Path> paths = Files.walk(root)) {
+            return paths.filter(path -> path.toString().endsWith(CLASS_FILE_SUFFIX))
+                    .map(path -> root.relativize(path).toString())
+                    .map(name -> name.substring(0, name.length() - CLASS_FILE_SUFFIX.length())
+                            .replace(File.separatorChar, '.'))
+                    .filter(name -> !name.endsWith("package-info") && !name.endsWith("module-info"))
+                    .filter(name -> !name.startsWith(generatedPrefix))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static URL[] toUrls(List<String> classpathElements) throws MojoExecutionException {
+        URL[] urls = new URL[classpathElements.size()];
+        for (int i = 0; i < urls.length; i++) {
+            try {
+                urls[i] = new File(classpathElements.get(i)).toURI().toURL();
+            } catch (MalformedURLException e) {
+                throw new MojoExecutionException("invalid classpath element: " + classpathElements.get(i), e);
+            }
+        }
+        return urls;
+    }
+
+}
@@ -0,0 +1,129 @@
+package com.valsong.swagger.plugin;
+
+import com.valsong.swagger.util.SwaggerExampleClassBuilder;
+import com.valsong.swagger.util.SwaggerExampleClassIndex;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Properties;
+import java.util.stream.Stream;
+
+import static com.valsong.swagger.constant.SwaggerScannerConstants.EXAMPLE_CLASS_INDEX_LOCATION;
+import static com.valsong.swagger.constant.SwaggerScannerConstants.PREBUILT_EXAMPLE_PACKAGE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assume.assumeNotNull;
+
+/**
+ * 执行generate-examples后运行时命中构建时生成的参数class
+ * <p>
+ * fixture在测试中编译到临时目录,不在测试的classpath中,
+ * 和应用一样由单独的classLoader加载,SwaggerExampleClassIndex从该classLoader读取索引
+ *
+ * @author Val Song
+ */
+public class GenerateExampleClassesMojoTest {
+
+    private static final String TRIGGER = "com.example.Trigger";
+
+    private static final String ORDER_SERVICE = "com.example.OrderService";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void generatedClassesAreFoundAtRuntime() throws Exception {
+        File classes = compileFixture();
+
+        GenerateExampleClassesMojo mojo = new GenerateExampleClassesMojo();
+        set(mojo, "outputDirectory", classes);
+        set(mojo, "classpathElements", Collections.singletonList(classes.getAbsolutePath()));
+        set(mojo, "annotations", Collections.singletonList(TRIGGER));
+        mojo.execute();
+
+        Properties index = new Properties();
+        try (InputStream inputStream = Files.newInputStream(classes.toPath().resolve(EXAMPLE_CLASS_INDEX_LOCATION))) {
+            index.load(inputStream);
+        }
+        //没有参数的方法不生成
+        assertEquals(3, index.size());
+        //cancel和reject共用同一个class,每个class只写入一次
+        Path generatedPackage = classes.toPath().resolve(PREBUILT_EXAMPLE_PACKAGE.replace('.', File.separatorChar));
+        try (Stream<Path> generated = Files.list(generatedPackage)) {
+            assertEquals(2L, generated.count());
+        }
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{classes.toURI().toURL()},
+                getClass().getClassLoader())) {
+            Class<?> orderService = Class.forName(ORDER_SERVICE, false, classLoader);
+            Method find = orderService.getMethod("find", long.class);
+            Method cancel = orderService.getMethod("cancel", long.class, String.class);
+            Method reject = orderService.getMethod("reject", long.class, String.class);
+
+            Class<?> prebuilt = SwaggerExampleClassIndex.find(SwaggerExampleClassBuilder.prebuiltKey(find,
+                    orderService), classLoader);
+            assertNotNull(prebuilt);
+            assertSame(classLoader, prebuilt.getClassLoader());
+            assertEquals(index.getProperty(SwaggerExampleClassBuilder.prebuiltKey(find, orderService)),
+                    prebuilt.getName());
+
+            //运行时使用构建时生成的class,不再由byte buddy生成
+            assertSame(prebuilt, SwaggerExampleClassBuilder.build(find, orderService));
+            //参数名称和类型都相同的方法共用同一个class
+            Class<?> cancelClazz = SwaggerExampleClassBuilder.build(cancel, orderService);
+            assertSame(classLoader, cancelClazz.getClassLoader());
+            assertSame(cancelClazz, SwaggerExampleClassBuilder.build(reject, orderService));
+        }
+    }
+
+    /**
+     * 编译fixture到临时目录,保留参数名称
+     *
+     * @return 编译输出目录
+     */
+    private File compileFixture() throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assumeNotNull(compiler);
+
+        Path sources = folder.newFolder("src", "com", "example").toPath();
+        Files.write(sources.resolve("Trigger.java"), ("package com.example;\n"
+                + "@java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME)\n"
+                + "public @interface Trigger {\n"
+                + "}\n").getBytes(StandardCharsets.UTF_8));
+        Files.write(sources.resolve("OrderService.java"), ("package com.example;\n"
+                + "public class OrderService {\n"
+                + "    @Trigger public String find(long id) { return \"order-\" + id; }\n"
+                + "    @Trigger public String cancel(long id, String reason) { return reason; }\n"
+                + "    @Trigger public String reject(long id, String reason) { return reason; }\n"
+                + "    @Trigger public String count() { return \"0\"; }\n"
+                + "    public String ignored(long id) { return null; }\n"
+                + "}\n").getBytes(StandardCharsets.UTF_8));
+
+        File classes = folder.newFolder("classes");
+        int status = compiler.run(null, null, null, "-g", "-d", classes.getAbsolutePath(),
+                sources.resolve("Trigger.java").toString(), sources.resolve("OrderService.java").toString());
+        assertEquals(0, status);
+        return classes;
+    }
+
+    private static void set(Object target, String name, Object value) throws ReflectiveOperationException {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+
+}
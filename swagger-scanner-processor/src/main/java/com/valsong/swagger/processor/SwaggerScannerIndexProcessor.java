@@ -0,0 +1,273 @@
+package com.valsong.swagger.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.Elements;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * 编译时生成SwaggerScanner的注解索引
+ * <p>
+ * 通过 -Aswagger.scanner.annotations=com.example.Trigger,com.example.Api 指定scanner扫描的方法注解,
+ * 将声明了标有这些注解(包括以这些注解为元注解的组合注解)的方法的类写入 META-INF/swagger-scanner.index,
+ * 格式为 类的binary name=注解1,注解2,没有这样的类时不生成索引;
+ * 增量编译时保留之前的索引中仍然存在且本次没有重新编译的类
+ *
+ * @author Val Song
+ */
+@SupportedOptions(SwaggerScannerIndexProcessor.ANNOTATIONS_OPTION)
+public class SwaggerScannerIndexProcessor extends AbstractProcessor {
+
+    /**
+     * 指定需要索引的方法注解,多个以逗号分隔
+     */
+    public static final String ANNOTATIONS_OPTION = "swagger.scanner.annotations";
+
+    /**
+     * 索引文件的位置,与SwaggerScannerConstants.ANNOTATION_INDEX_LOCATION一致
+     */
+    public static final String INDEX_LOCATION = "META-INF/swagger-scanner.index";
+
+    /**
+     * 类 -> 方法上标有的注解
+     */
+    private final Map<String, Set<String>> index = new TreeMap<>();
+
+    /**
+     * 本次编译的类
+     */
+    private final Set<String> compiledTypes = new HashSet<>();
+
+    /**
+     * 需要索引的注解
+     */
+    private Set<String> targetAnnotations;
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton("*");
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (targetAnnotations == null) {
+            String option = processingEnv.getOptions().get(ANNOTATIONS_OPTION);
+            targetAnnotations = option == null ? Collections.emptySet() : Arrays.stream(option.split(","))
+                    .map(String::trim)
+                    .filter(name -> !name.isEmpty())
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+            if (targetAnnotations.isEmpty()) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                        "swagger scanner index is skipped, no annotation is specified by -A" + ANNOTATIONS_OPTION);
+            }
+        }
+        if (targetAnnotations.isEmpty()) {
+            return false;
+        }
+
+        if (roundEnv.processingOver()) {
+            writeIndex();
+        } else {
+            roundEnv.getRootElements().forEach(this::indexType);
+        }
+        return false;
+    }
+
+    /**
+     * 索引类及其内部类
+     *
+     * @param element
+     */
+    private void indexType(Element element) {
+        if (!(element instanceof TypeElement)) {
+            return;
+        }
+        TypeElement typeElement = (TypeElement) element;
+        String binaryName = processingEnv.getElementUtils().getBinaryName(typeElement).toString();
+        compiledTypes.add(binaryName);
+
+        for (Element enclosed : typeElement.getEnclosedElements()) {
+            if (enclosed.getKind() == ElementKind.METHOD) {
+                for (AnnotationMirror annotationMirror : enclosed.getAnnotationMirrors()) {
+                    Set<String> matched = new LinkedHashSet<>();
+                    matchTargets(annotationMirror, new HashSet<>(), matched);
+                    if (!matched.isEmpty()) {
+                        index.computeIfAbsent(binaryName, key -> new TreeSet<>()).addAll(matched);
+                    }
+                }
+            } else if (enclosed instanceof TypeElement) {
+                indexType(enclosed);
+            }
+        }
+    }
+
+    /**
+     * 注解本身或者其元注解是需要索引的注解时加入matched
+     *
+     * @param annotationMirror
+     * @param visited          防止元注解循环
+     * @param matched
+     */
+    private void matchTargets(AnnotationMirror annotationMirror, Set<String> visited, Set<String> matched) {
+        TypeElement annotationType = (TypeElement) annotationMirror.getAnnotationType().asElement();
+        String name = annotationType.getQualifiedName().toString();
+        if (!visited.add(name) || name.startsWith("java.lang.annotation.")) {
+            return;
+        }
+        if (targetAnnotations.contains(name)) {
+            matched.add(name);
+        }
+        annotationType.getAnnotationMirrors().forEach(meta -> matchTargets(meta, visited, matched));
+    }
+
+    /**
+     * 合并之前的索引并写入
+     */
+    private void writeIndex() {
+        Map<String, Set<String>> merged = new TreeMap<>();
+        readPreviousIndex().forEach((type, annotationNames) -> {
+            //本次重新编译的类以本次为准,已经删除的类丢弃
+            if (!compiledTypes.contains(type) && findType(type) != null) {
+                merged.put(type, annotationNames);
+            }
+        });
+        merged.putAll(index);
+
+        //空的索引会让运行时跳过该模块中所有的类,没有标有注解的方法时不生成索引
+        if (merged.isEmpty()) {
+            deletePreviousIndex();
+            return;
+        }
+
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+                    INDEX_LOCATION);
+            try (OutputStream outputStream = file.openOutputStream();
+                 Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)) {
+                writer.write("#swagger scanner annotation index, generated by " + getClass().getName() + "\n");
+                for (Map.Entry<String, Set<String>> entry : merged.entrySet()) {
+                    writer.write(entry.getKey() + "=" + String.join(",", entry.getValue()) + "\n");
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "swagger scanner index write failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 按binary name查找类
+     * <p>
+     * 类名本身可以包含$,不能直接把$替换为.;先按原样查找顶层类,
+     * 找不到时依次以每个$之前的部分作为外部类,在其内部类中查找binary name相同的类
+     *
+     * @param binaryName
+     * @return 不存在时返回null
+     */
+    private TypeElement findType(String binaryName) {
+        Elements elements = processingEnv.getElementUtils();
+        TypeElement typeElement = elements.getTypeElement(binaryName);
+        if (typeElement != null && elements.getBinaryName(typeElement).contentEquals(binaryName)) {
+            return typeElement;
+        }
+        for (int i = binaryName.indexOf('$'); i > 0; i = binaryName.indexOf('$', i + 1)) {
+            TypeElement outer = elements.getTypeElement(binaryName.substring(0, i));
+            TypeElement nested = outer == null ? null : findNestedType(outer, binaryName);
+            if (nested != null) {
+                return nested;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 在内部类中查找binary name相同的类,只进入binary name是其前缀的内部类
+     *
+     * @param outer
+     * @param binaryName
+     * @return 不存在时返回null
+     */
+    private TypeElement findNestedType(TypeElement outer, String binaryName) {
+        Elements elements = processingEnv.getElementUtils();
+        for (Element enclosed : outer.getEnclosedElements()) {
+            if (!(enclosed instanceof TypeElement)) {
+                continue;
+            }
+            TypeElement nested = (TypeElement) enclosed;
+            String nestedName = elements.getBinaryName(nested).toString();
+            if (nestedName.equals(binaryName)) {
+                return nested;
+            }
+            if (binaryName.startsWith(nestedName + "$")) {
+                TypeElement found = findNestedType(nested, binaryName);
+                if (found != null) {
+                    return found;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 删除之前编译生成的索引
+     */
+    private void deletePreviousIndex() {
+        try {
+            processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION).delete();
+        } catch (IOException e) {
+            //之前没有生成索引
+        }
+    }
+
+    /**
+     * 读取之前编译生成的索引
+     *
+     * @return 不存在时返回空
+     */
+    private Map<String, Set<String>> readPreviousIndex() {
+        Map<String, Set<String>> previous = new TreeMap<>();
+        try {
+            FileObject file = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "",
+                    INDEX_LOCATION);
+            Properties properties = new Properties();
+            try (InputStream inputStream = file.openInputStream()) {
+                properties.load(inputStream);
+            }
+            properties.stringPropertyNames().forEach(type -> previous.put(type,
+                    new TreeSet<>(Arrays.asList(properties.getProperty(type).split(",")))));
+        } catch (IOException e) {
+            //第一次编译时没有索引
+        }
+        return previous;
+    }
+
+}
@@ -0,0 +1,613 @@
+package com.valsong.swagger;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSerializer;
+import com.google.gson.stream.JsonWriter;
+import com.valsong.swagger.configuration.SwaggerScannerProperties;
+import com.valsong.swagger.exception.RequestBodyTooLargeException;
+import com.valsong.swagger.exception.SwaggerScannerException;
+import com.valsong.swagger.model.MethodProperty;
+import com.valsong.swagger.model.SwaggerBatchResult;
+import com.valsong.swagger.support.MethodMetrics;
+import com.valsong.swagger.support.SwaggerBatchInvoker;
+import com.valsong.swagger.support.SwaggerInvokeMetrics;
+import com.valsong.swagger.support.SwaggerPayloadLogger;
+import com.valsong.swagger.support.SwaggerScannerInvoker;
+import com.valsong.swagger.util.RequestBody;
+import com.valsong.swagger.util.RequestBodyReader;
+import com.valsong.swagger.util.Utf8CountingWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.Servlet;
+import javax.servlet.ServletConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedWriter;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static com.valsong.swagger.constant.SwaggerScannerConstants.BATCH_URL_SUFFIX;
+import static com.valsong.swagger.constant.SwaggerScannerConstants.ENDPOINTS_URL_SUFFIX;
+import static com.valsong.swagger.constant.SwaggerScannerConstants.ENDPOINT_ID;
+import static com.valsong.swagger.constant.SwaggerScannerConstants.METRICS_URL_SUFFIX;
+import static com.valsong.swagger.constant.SwaggerScannerConstants.URL_PATTERN;
+
+/**
+ * 拦截swagger的请求
+ */
+public class SwaggerScannerServlet implements Servlet {
+
+    private static final Logger logger = LoggerFactory.getLogger(SwaggerScannerServlet.class);
+
+    private static final String ENCODING = "UTF-8";
+
+    private static final String CONTENT_TYPE = "Content-Type";
+
+    private static final String APPLICATION_JSON = "application/json;charset=UTF-8";
+
+    /**
+     * 是否美化返回的Json的请求参数,如 /swagger_scanner?beanName.methodName&pretty
+     */
+    private static final String PRETTY = "pretty";
+
+    /**
+     * 批量调用在日志中的名称
+     */
+    private static final String BATCH = "batch";
+
+    /**
+     * 写返回值时的缓冲区大小
+     */
+    private static final int RESPONSE_BUFFER_SIZE = 8 * 1024;
+
+    /**
+     * 返回值使用的Gson
+     */
+    private static final Gson GSON = newGsonBuilder().create();
+
+    /**
+     * 美化Json的Gson
+     */
+    private static final Gson GSON_PRETTY = newGsonBuilder().setPrettyPrinting().create();
+
+    /**
+     * 使用池化缓冲区读取请求体
+     */
+    private final RequestBodyReader requestBodyReader;
+
+    /**
+     * 异步模式下执行方法的线程池,同步模式下为null
+     */
+    private final ThreadPoolExecutor invokeExecutor;
+
+    /**
+     * 异步请求的超时时间(毫秒)
+     */
+    private final long asyncTimeout;
+
+    /**
+     * 批量调用
+     */
+    private final SwaggerBatchInvoker batchInvoker;
+
+    /**
+     * 记录请求和返回的Json
+     */
+    private final SwaggerPayloadLogger payloadLogger;
+
+    /**
+     * 方法的调用统计
+     */
+    private final SwaggerInvokeMetrics invokeMetrics;
+
+    public SwaggerScannerServlet() {
+        this(new SwaggerScannerProperties());
+    }
+
+    public SwaggerScannerServlet(SwaggerScannerProperties properties) {
+        this(properties, new SwaggerInvokeMetrics());
+    }
+
+    public SwaggerScannerServlet(SwaggerScannerProperties properties, SwaggerInvokeMetrics invokeMetrics) {
+        this.invokeMetrics = invokeMetrics;
+        this.requestBodyReader = new RequestBodyReader(properties.getMaxBodySize());
+        this.asyncTimeout = properties.getAsyncTimeout();
+        this.invokeExecutor = properties.isAsync() ? newInvokeExecutor(properties) : null;
+        this.batchInvoker = new SwaggerBatchInvoker(properties.getBatchParallelism() > 0 ?
+                properties.getBatchParallelism() : Runtime.getRuntime().availableProcessors(),
+                properties.getBatchQueueCapacity());
+        this.payloadLogger = new SwaggerPayloadLogger(properties.getPayloadLogSampleRate(),
+                properties.getPayloadLogMaxBytes(), properties.getPayloadLogOverrides(),
+                properties.isPayloadLogAsync());
+    }
+
+    @Override
+    public void init(ServletConfig config) throws ServletException {
+
+    }
+
+    @Override
+    public ServletConfig getServletConfig() {
+        return null;
+    }
+
+    @Override
+    public void service(ServletRequest req, ServletResponse res) throws ServletException, IOException {
+
+        HttpServletRequest request = (HttpServletRequest) req;
+        HttpServletResponse response = (HttpServletResponse) res;
+
+        //批量调用
+        if ((URL_PATTERN + BATCH_URL_SUFFIX).equals(request.getServletPath())) {
+            serviceBatch(request, response);
+            return;
+        }
+
+        //调用统计
+        if ((URL_PATTERN + METRICS_URL_SUFFIX).equals(request.getServletPath())) {
+            writeResponse(invokeMetrics.snapshot(), isPretty(request) ? GSON_PRETTY : GSON, response);
+            return;
+        }
+
+        //方法名称与endpointId
+        if ((URL_PATTERN + ENDPOINTS_URL_SUFFIX).equals(request.getServletPath())) {
+            writeResponse(SwaggerScannerInvoker.getEndpointIds(), isPretty(request) ? GSON_PRETTY : GSON, response);
+            return;
+        }
+
+        String methodName;
+        MethodProperty methodProperty;
+        String endpointId = request.getParameter(ENDPOINT_ID);
+        if (endpointId != null) {
+            methodProperty = SwaggerScannerInvoker.getTriggerMethod(parseEndpointId(endpointId));
+            methodName = methodProperty.getMethodName();
+        } else {
+            methodName = resolveMethodName(request);
+            methodProperty = SwaggerScannerInvoker.getTriggerMethod(methodName);
+        }
+        MethodMetrics metrics = methodProperty.getMetrics();
+
+        //是否记录本次调用的payload
+        SwaggerPayloadLogger.Sample sample = payloadLogger.sample(methodName);
+
+        //参数在请求线程中绑定,请求体的缓冲区在此归还
+        Object[] params;
+        try (RequestBody body = requestBodyReader.read(request.getInputStream(), request.getContentLengthLong())) {
+
+            //请求Json
+            if (sample != null) {
+                sample.logRequest(body);
+            }
+            if (metrics != null) {
+                metrics.recordRequestBytes(body.length());
+            }
+
+            params = SwaggerScannerInvoker.bind(methodProperty, body.getReader());
+
+        } catch (RequestBodyTooLargeException e) {
+            logger.warn("swagger method: {} rejected, {}", methodName, e.getMessage());
+            response.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, e.getMessage());
+            return;
+        }
+
+        Gson gson = isPretty(request) ? GSON_PRETTY : GSON;
+
+        //同步执行
+        if (invokeExecutor == null) {
+            Object returnVal = SwaggerScannerInvoker.invoke(methodProperty, params);
+            logResponse(sample, returnVal);
+            recordResponseBytes(metrics, writeResponse(returnVal, gson, response));
+            return;
+        }
+
+        //异步执行
+        AsyncResponse asyncResponse = startAsync(request, methodName);
+        try {
+            invokeExecutor.execute(() -> {
+                if (asyncResponse.isCompleted()) {
+                    return;
+                }
+                Object returnVal;
+                //任何异常或错误都需要完成请求,否则请求一直挂起直到超时
+                try {
+                    returnVal = SwaggerScannerInvoker.invoke(methodProperty, params);
+                    logResponse(sample, returnVal);
+                } catch (Throwable e) {
+                    logger.error("swagger invoke method: " + methodName + " failed!", e);
+                    asyncResponse.completeWithError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, e.getMessage());
+                    return;
+                }
+                asyncResponse.complete(r -> recordResponseBytes(metrics, writeResponse(returnVal, gson, r)));
+            });
+        } catch (RejectedExecutionException e) {
+            logger.warn("swagger method: {} rejected, invoke executor is full.", methodName);
+            asyncResponse.completeWithError(HttpServletResponse.SC_SERVICE_UNAVAILABLE,
+                    "swagger invoke executor is full");
+        }
+
+    }
+
+    /**
+     * 批量调用,所有调用并行执行,按请求顺序返回每个调用的结果
+     *
+     * @param request
+     * @param response
+     * @throws IOException
+     */
+    private void serviceBatch(HttpServletRequest request, HttpServletResponse response) throws IOException {
+
+        //是否记录本次调用的payload
+        SwaggerPayloadLogger.Sample sample = payloadLogger.sample(BATCH);
+
+        List<CompletableFuture<SwaggerBatchResult>> results;
+        try (RequestBody body = requestBodyReader.read(request.getInputStream(), request.getContentLengthLong())) {
+
+            //请求Json
+            if (sample != null) {
+                sample.logRequest(body);
+            }
+
+            results = batchInvoker.invoke(body.getReader());
+
+        } catch (RequestBodyTooLargeException e) {
+            logger.warn("swagger batch rejected, {}", e.getMessage());
+            response.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, e.getMessage());
+            return;
+        }
+
+        Gson gson = isPretty(request) ? GSON_PRETTY : GSON;
+
+        CompletableFuture<Void> allDone = CompletableFuture.allOf(results.toArray(new CompletableFuture[0]));
+
+        //同步等待所有调用结束
+        if (invokeExecutor == null) {
+            allDone.join();
+            List<SwaggerBatchResult> batchResults = joinAll(results);
+            logResponse(sample, batchResults);
+            writeBatchResponse(batchResults, gson, response);
+            return;
+        }
+
+        //异步模式下所有调用结束后再完成请求
+        AsyncResponse asyncResponse = startAsync(request, BATCH);
+        allDone.whenComplete((v, e) -> {
+            List<SwaggerBatchResult> batchResults;
+            try {
+                batchResults = joinAll(results);
+                logResponse(sample, batchResults);
+            } catch (Throwable t) {
+                logger.error("swagger batch invoke failed!", t);
+                asyncResponse.completeWithError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, t.getMessage());
+                return;
+            }
+            asyncResponse.complete(r -> writeBatchResponse(batchResults, gson, r));
+        });
+    }
+
+    /**
+     * 获取需要调用的方法名称,即第一个不是保留参数的请求参数
+     *
+     * @param request
+     * @return
+     */
+    private static String resolveMethodName(HttpServletRequest request) {
+        Enumeration<String> parameterNames = request.getParameterNames();
+        while (parameterNames.hasMoreElements()) {
+            String parameterName = parameterNames.nextElement();
+            if (!PRETTY.equals(parameterName) && !ENDPOINT_ID.equals(parameterName)) {
+                return parameterName;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 解析endpointId
+     *
+     * @param endpointId
+     * @return
+     */
+    private static int parseEndpointId(String endpointId) {
+        try {
+            return Integer.parseInt(endpointId);
+        } catch (NumberFormatException e) {
+            throw new SwaggerScannerException("illegal swagger endpointId: " + endpointId, e);
+        }
+    }
+
+    /**
+     * 是否需要美化返回的Json
+     *
+     * @param request
+     * @return
+     */
+    private static boolean isPretty(HttpServletRequest request) {
+        String pretty = request.getParameter(PRETTY);
+        return pretty != null && !Boolean.FALSE.toString().equalsIgnoreCase(pretty);
+    }
+
+    /**
+     * 将返回值直接序列化到response的OutputStream中,不在内存中生成完整的Json字符串
+     *
+     * @param returnVal
+     * @param gson
+     * @param response
+     * @return 写入的字节数
+     * @throws IOException
+     */
+    private static long writeResponse(Object returnVal, Gson gson, HttpServletResponse response) throws IOException {
+
+        response.setCharacterEncoding(ENCODING);
+        response.setHeader(CONTENT_TYPE, APPLICATION_JSON);
+
+        CountingOutputStream outputStream = new CountingOutputStream(response.getOutputStream());
+        JsonWriter jsonWriter = gson.newJsonWriter(new BufferedWriter(
+                new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), RESPONSE_BUFFER_SIZE));
+        if (returnVal == null) {
+            gson.toJson(JsonNull.INSTANCE, jsonWriter);
+        } else {
+            gson.toJson(returnVal, returnVal.getClass(), jsonWriter);
+        }
+        jsonWriter.flush();
+        return outputStream.count;
+    }
+
+    /**
+     * 逐个写入批量调用的结果,并记录每个结果的字节数到对应方法的统计中
+     *
+     * @param batchResults
+     * @param gson
+     * @param response
+     * @throws IOException
+     */
+    private static void writeBatchResponse(List<SwaggerBatchResult> batchResults, Gson gson,
+                                           HttpServletResponse response) throws IOException {
+
+        response.setCharacterEncoding(ENCODING);
+        response.setHeader(CONTENT_TYPE, APPLICATION_JSON);
+
+        //在缓冲区之前统计,不需要为了统计而flush
+        Utf8CountingWriter counter = new Utf8CountingWriter(new BufferedWriter(
+                new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8), RESPONSE_BUFFER_SIZE));
+        JsonWriter jsonWriter = gson.newJsonWriter(counter);
+        jsonWriter.beginArray();
+        for (SwaggerBatchResult batchResult : batchResults) {
+            long start = counter.count();
+            gson.toJson(batchResult, SwaggerBatchResult.class, jsonWriter);
+            recordResponseBytes(batchResult.getMetrics(), counter.count() - start);
+        }
+        jsonWriter.endArray();
+        jsonWriter.flush();
+    }
+
+    /**
+     * 记录返回的Json的字节数
+     *
+     * @param metrics 未注册统计时为null
+     * @param bytes
+     */
+    private static void recordResponseBytes(MethodMetrics metrics, long bytes) {
+        if (metrics != null) {
+            metrics.recordResponseBytes(bytes);
+        }
+    }
+
+    /**
+     * 创建异步执行方法的线程池,有界队列,队列满时拒绝
+     *
+     * @param properties
+     * @return
+     */
+    private static ThreadPoolExecutor newInvokeExecutor(SwaggerScannerProperties properties) {
+        AtomicInteger threadIndex = new AtomicInteger();
+        return new ThreadPoolExecutor(properties.getAsyncCorePoolSize(),
+                Math.max(properties.getAsyncCorePoolSize(), properties.getAsyncMaxPoolSize()),
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(properties.getAsyncQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "swagger-scanner-invoker-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * 记录返回的Json
+     *
+     * @param sample 未被采样时为null
+     * @param returnVal
+     */
+    private static void logResponse(SwaggerPayloadLogger.Sample sample, Object returnVal) {
+        if (sample != null) {
+            sample.logResponse(GSON, returnVal);
+        }
+    }
+
+    /**
+     * 获取所有批量调用的结果
+     *
+     * @param results
+     * @return
+     */
+    private static List<SwaggerBatchResult> joinAll(List<CompletableFuture<SwaggerBatchResult>> results) {
+        return results.stream().map(CompletableFuture::join).collect(Collectors.toList());
+    }
+
+    /**
+     * 开始异步请求
+     *
+     * @param request
+     * @param description 用于日志
+     * @return
+     */
+    private AsyncResponse startAsync(HttpServletRequest request, String description) {
+        AsyncContext asyncContext = request.startAsync();
+        asyncContext.setTimeout(asyncTimeout);
+        AsyncResponse asyncResponse = new AsyncResponse(asyncContext, description);
+        asyncContext.addListener(asyncResponse);
+        return asyncResponse;
+    }
+
+    /**
+     * 返回值使用的GsonBuilder
+     *
+     * @return
+     */
+    private static GsonBuilder newGsonBuilder() {
+        return new GsonBuilder()
+                .registerTypeAdapter(Double.class, (JsonSerializer<Double>) (src, typeOfSrc, context) -> {
+                    if (src == src.longValue()) {
+                        return new JsonPrimitive(src.longValue());
+                    }
+                    return new JsonPrimitive(src);
+                })
+                .setDateFormat("yyyy-MM-dd HH:mm:ss");
+    }
+
+    @Override
+    public String getServletInfo() {
+        return null;
+    }
+
+    @Override
+    public void destroy() {
+        if (invokeExecutor != null) {
+            invokeExecutor.shutdown();
+        }
+        batchInvoker.shutdown();
+        payloadLogger.shutdown();
+    }
+
+    /**
+     * 统计写入的字节数
+     */
+    private static class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+
+    /**
+     * 写response
+     */
+    @FunctionalInterface
+    private interface ResponseWriter {
+
+        /**
+         * 写response
+         *
+         * @param response
+         * @throws IOException
+         */
+        void write(HttpServletResponse response) throws IOException;
+    }
+
+    /**
+     * 异步请求的response,只能完成一次,执行结束与超时可能同时发生
+     */
+    private static class AsyncResponse implements AsyncListener {
+
+        private final AsyncContext asyncContext;
+
+        private final String description;
+
+        private final AtomicBoolean completed = new AtomicBoolean();
+
+        AsyncResponse(AsyncContext asyncContext, String description) {
+            this.asyncContext = asyncContext;
+            this.description = description;
+        }
+
+        boolean isCompleted() {
+            return completed.get();
+        }
+
+        /**
+         * 写入结果并完成异步请求
+         *
+         * @param writer
+         */
+        void complete(ResponseWriter writer) {
+            if (!completed.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                writer.write((HttpServletResponse) asyncContext.getResponse());
+            } catch (Throwable e) {
+                logger.error("swagger write response of " + description + " failed!", e);
+            } finally {
+                asyncContext.complete();
+            }
+        }
+
+        /**
+         * 以错误状态完成异步请求
+         *
+         * @param status
+         * @param message
+         */
+        void completeWithError(int status, String message) {
+            complete(response -> response.sendError(status, message));
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            logger.warn("swagger invoke {} timeout.", description);
+            completeWithError(HttpServletResponse.SC_GATEWAY_TIMEOUT, "swagger invoke timeout");
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            completed.set(true);
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.valsong.swagger.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 标记页面触发的方法的返回值可以缓存,只适用于幂等的只读方法
+ * <p>
+ * 参数相同的调用在有效期内直接返回缓存的结果,超过最大数量时淘汰最久未使用的结果
+ *
+ * @author Val Song
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface SwaggerCacheable {
+
+    /**
+     * 有效期,小于等于0时不过期
+     *
+     * @return
+     */
+    long ttl() default 60;
+
+    /**
+     * 有效期的单位
+     *
+     * @return
+     */
+    TimeUnit timeUnit() default TimeUnit.SECONDS;
+
+    /**
+     * 最多缓存的结果数
+     *
+     * @return
+     */
+    int maxSize() default 100;
+
+}
@@ -0,0 +1,42 @@
+package com.valsong.swagger.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 将扫描到的方法分配到指定的Docket,在{@link SwaggerScanner#docketGroups()}中使用
+ * <p>
+ * tag或者bean所在的包匹配时分配到该Docket,按声明的顺序匹配,都不匹配时分配到docketBeanName指定的Docket
+ *
+ * @author Val Song
+ */
+@Target({})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface SwaggerDocketGroup {
+
+    /**
+     * Docket bean 的名称
+     *
+     * @return
+     */
+    String docketBeanName();
+
+    /**
+     * 分配到该Docket的tag名称
+     *
+     * @return
+     */
+    String[] tags() default {};
+
+    /**
+     * 分配到该Docket的bean所在的包,包括子包
+     *
+     * @return
+     */
+    String[] packages() default {};
+
+}
@@ -0,0 +1,183 @@
+/*
+ *
+ */
+package com.valsong.swagger.annotation;
+
+import com.valsong.swagger.configuration.SwaggerScannerConfiguration;
+import com.valsong.swagger.configuration.SwaggerScannerProperties;
+import org.springframework.context.annotation.Import;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 启用SwaggerScanner
+ *
+ * @author Val Song
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Import({SwaggerScannerConfiguration.SwaggerScannerRegistrar.class})
+public @interface SwaggerScanner {
+
+    /**
+     * 是否开启swagger扫描,目前仅支持swagger2.9.2及以上版本
+     *
+     * @return
+     */
+    boolean enable() default true;
+
+    /**
+     * 指定Swagger docket bean 的名称
+     * 如果项目中有多个Docket则需要指定docketBeanName
+     * 如果只有一个Docket则不用指定
+     *
+     * @return
+     */
+    String docketBeanName() default "";
+
+    /**
+     * 按tag或者包将扫描到的方法分配到多个Docket,每个Docket只展示分配给它的方法
+     * 不匹配任何分组的方法分配到docketBeanName指定的Docket,没有指定时分配到第一个分组的Docket
+     *
+     * @return
+     */
+    SwaggerDocketGroup[] docketGroups() default {};
+
+    /**
+     * swagger 的servlet拦截的url
+     * @return
+     */
+    String urlPattern() default "/swagger_scanner";
+
+    /**
+     * 允许的最大请求体字节数,超过时返回413
+     *
+     * @return
+     */
+    long maxBodySize() default SwaggerScannerProperties.DEFAULT_MAX_BODY_SIZE;
+
+    /**
+     * 是否使用异步servlet,方法在独立的线程池中执行,不占用容器的请求线程
+     *
+     * @return
+     */
+    boolean async() default false;
+
+    /**
+     * 异步执行方法的线程池核心线程数
+     *
+     * @return
+     */
+    int asyncCorePoolSize() default 2;
+
+    /**
+     * 异步执行方法的线程池最大线程数
+     *
+     * @return
+     */
+    int asyncMaxPoolSize() default 8;
+
+    /**
+     * 异步执行方法的线程池队列长度,队列满时返回503
+     *
+     * @return
+     */
+    int asyncQueueCapacity() default 100;
+
+    /**
+     * 异步请求的超时时间(毫秒),超时返回504
+     *
+     * @return
+     */
+    long asyncTimeout() default 60000L;
+
+    /**
+     * 批量调用(urlPattern + "/batch")的并行度,小于等于0时使用cpu核数
+     *
+     * @return
+     */
+    int batchParallelism() default 0;
+
+    /**
+     * 记录请求和返回的Json的采样率 0~1,0表示不记录
+     *
+     * @return
+     */
+    double payloadLogSampleRate() default 1.0;
+
+    /**
+     * 每个payload最多记录的字节数,超过的部分会被截断
+     *
+     * @return
+     */
+    int payloadLogMaxBytes() default 4096;
+
+    /**
+     * 按方法覆盖的采样规则,格式为 methodName=sampleRate 或 methodName=sampleRate:maxBytes
+     * 如 {"userService.findAll=0.1:1024"}
+     *
+     * @return
+     */
+    String[] payloadLogOverrides() default {};
+
+    /**
+     * 是否在单独的线程中输出payload日志
+     *
+     * @return
+     */
+    boolean payloadLogAsync() default true;
+
+    /**
+     * 是否合并相同的并发调用,方法和参数都相同的调用同时只执行一次,共享其结果
+     *
+     * @return
+     */
+    boolean singleFlight() default false;
+
+    /**
+     * 扫描结果快照文件的路径,为空时不使用快照
+     * class文件未变化的类直接使用快照中的方法,启动完成后将新的扫描结果写入该文件
+     *
+     * @return
+     */
+    String scanSnapshotFile() default "";
+
+    /**
+     * 是否延迟扫描,开启后创建bean时只记录需要扫描的bean,
+     * 所有bean创建完成后再并行扫描方法、生成调用器和描述,缩短创建bean的时间;
+     * 参数class不在该阶段生成,由CompositeParameterClazz在springfox生成文档时延迟生成
+     *
+     * @return
+     */
+    boolean deferredScan() default false;
+
+    /**
+     * 延迟扫描的并行度,小于等于0时使用cpu核数
+     *
+     * @return
+     */
+    int deferredScanParallelism() default 0;
+
+    /**
+     * 是否使用swagger-scanner-processor编译时生成的注解索引,
+     * 开启后不在索引中的类不再反射遍历其方法;
+     * 索引只对所在jar或者目录中的类生效,没有使用该处理器编译的模块中的类仍然反射遍历
+     *
+     * @return
+     */
+    boolean annotationIndex() default false;
+
+    /**
+     * 参数class的磁盘缓存目录,为空时不使用缓存
+     * 生成的参数class的字节码按方法签名、参数名称和泛型声明的hash保存,下次启动时直接使用,不再重新生成
+     *
+     * @return
+     */
+    String exampleClassCacheDir() default "";
+
+}
\ No newline at end of file
@@ -0,0 +1,283 @@
+package com.valsong.swagger.configuration;
+
+import com.fasterxml.classmate.TypeResolver;
+import com.valsong.swagger.SwaggerScannerServlet;
+import com.valsong.swagger.annotation.SwaggerScanner;
+import com.valsong.swagger.support.SimpleSwaggerApiRegistry;
+import com.valsong.swagger.support.SwaggerAnnotationIndex;
+import com.valsong.swagger.support.SwaggerApiDescriptionProvider;
+import com.valsong.swagger.support.SwaggerApiRegistry;
+import com.valsong.swagger.support.SwaggerDeferredScanStage;
+import com.valsong.swagger.support.SwaggerDocketRouter;
+import com.valsong.swagger.support.SwaggerInvokeMetrics;
+import com.valsong.swagger.support.SwaggerInvokeMetricsBinder;
+import com.valsong.swagger.support.SwaggerModelProvider;
+import com.valsong.swagger.support.SwaggerExampleClassCache;
+import com.valsong.swagger.support.SwaggerScanSnapshot;
+import com.valsong.swagger.support.SwaggerScannerContextListener;
+import com.valsong.swagger.support.SwaggerScannerInvoker;
+import com.valsong.swagger.support.SwaggerScannerPluginsBootstrapper;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.BeanDefinitionBuilder;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.boot.web.servlet.ServletRegistrationBean;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ImportBeanDefinitionRegistrar;
+import org.springframework.core.annotation.AnnotationAttributes;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.util.ClassUtils;
+import springfox.documentation.schema.ModelProvider;
+import springfox.documentation.schema.TypeNameExtractor;
+import springfox.documentation.spring.web.plugins.Docket;
+import springfox.documentation.spring.web.plugins.DocumentationPluginsBootstrapper;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.valsong.swagger.constant.SwaggerScannerConstants.BATCH_URL_SUFFIX;
+import static com.valsong.swagger.constant.SwaggerScannerConstants.ENDPOINTS_URL_SUFFIX;
+import static com.valsong.swagger.constant.SwaggerScannerConstants.METRICS_URL_SUFFIX;
+import static com.valsong.swagger.constant.SwaggerScannerConstants.PATH_PREFIX;
+import static com.valsong.swagger.constant.SwaggerScannerConstants.URL_PATTERN;
+
+/**
+ * Swagger设置
+ *
+ * @author: Val Song
+ */
+public class SwaggerScannerConfiguration implements ApplicationContextAware, DisposableBean {
+
+    private static ApplicationContext applicationContext;
+
+    /**
+     * 当前配置所在的context
+     */
+    private ApplicationContext ownApplicationContext;
+
+    /**
+     * Docket的Bean的名称
+     */
+    private static String docketBeanName;
+
+    /**
+     * 通过@SwaggerScanner指定的配置
+     */
+    private static final SwaggerScannerProperties properties = new SwaggerScannerProperties();
+
+    @Bean
+    public SwaggerScannerPluginsBootstrapper swaggerScannerPluginsBootstrapper(@Autowired SwaggerApiRegistry swaggerApiRegistry) {
+        return new SwaggerScannerPluginsBootstrapper(getDockets(swaggerApiRegistry), swaggerApiRegistry);
+    }
+
+    @Bean
+    public SwaggerScannerContextListener swaggerScannerContextListener(@Autowired SwaggerApiRegistry swaggerApiRegistry,
+            ObjectProvider<DocumentationPluginsBootstrapper> documentationPluginsBootstrapper) {
+        return new SwaggerScannerContextListener(swaggerApiRegistry, documentationPluginsBootstrapper.getIfAvailable());
+    }
+
+    @Bean
+    public SwaggerInvokeMetrics swaggerInvokeMetrics() {
+        return new SwaggerInvokeMetrics();
+    }
+
+    @Bean(destroyMethod = "close")
+    public SwaggerApiRegistry swaggerApiRegistry(@Autowired SwaggerInvokeMetrics swaggerInvokeMetrics) {
+        SwaggerScanSnapshot scanSnapshot = StringUtils.isNotBlank(properties.getScanSnapshotFile()) ?
+                new SwaggerScanSnapshot(Paths.get(properties.getScanSnapshotFile())) : null;
+        SwaggerDocketRouter docketRouter = new SwaggerDocketRouter(docketBeanName, properties.getDocketGroups());
+        SwaggerDeferredScanStage deferredScanStage = properties.isDeferredScan() ?
+                new SwaggerDeferredScanStage(properties.getDeferredScanParallelism()) : null;
+        SwaggerAnnotationIndex annotationIndex = properties.isAnnotationIndex() ?
+                SwaggerAnnotationIndex.load(ClassUtils.getDefaultClassLoader()) : null;
+        SwaggerExampleClassCache exampleClassCache = StringUtils.isNotBlank(properties.getExampleClassCacheDir()) ?
+                new SwaggerExampleClassCache(Paths.get(properties.getExampleClassCacheDir())) : null;
+        return new SimpleSwaggerApiRegistry(swaggerInvokeMetrics, scanSnapshot, docketRouter, deferredScanStage,
+                annotationIndex, exampleClassCache);
+    }
+
+    @Bean
+    public ServletRegistrationBean swaggerScannerServlet(@Autowired SwaggerInvokeMetrics swaggerInvokeMetrics) {
+        ServletRegistrationBean servletRegistrationBean = new ServletRegistrationBean();
+        servletRegistrationBean.setServlet(new SwaggerScannerServlet(properties, swaggerInvokeMetrics));
+        servletRegistrationBean.addUrlMappings(URL_PATTERN, URL_PATTERN + BATCH_URL_SUFFIX,
+                URL_PATTERN + METRICS_URL_SUFFIX, URL_PATTERN + ENDPOINTS_URL_SUFFIX);
+        servletRegistrationBean.setAsyncSupported(properties.isAsync());
+        return servletRegistrationBean;
+    }
+
+    @Bean
+    public SwaggerApiDescriptionProvider swaggerApiDescriptionProvider(@Autowired SwaggerApiRegistry swaggerApiRegistry,
+                                                                       @Autowired TypeResolver typeResolver,
+                                                                       @Autowired TypeNameExtractor typeNameExtractor,
+                                                                       @Autowired @Qualifier("default") ModelProvider modelProvider) {
+        return new SwaggerApiDescriptionProvider(swaggerApiRegistry, getDockets(swaggerApiRegistry), typeResolver,
+                typeNameExtractor, modelProvider);
+    }
+
+    @Bean
+    public SwaggerModelProvider swaggerModelProvider(@Autowired SwaggerApiRegistry swaggerApiRegistry) {
+        return new SwaggerModelProvider(swaggerApiRegistry, getDockets(swaggerApiRegistry));
+    }
+
+
+    @Bean(destroyMethod = "close")
+    public SwaggerScannerInvoker swaggerScannerInvoker(@Autowired SwaggerApiRegistry swaggerApiRegistry) {
+        return new SwaggerScannerInvoker(swaggerApiRegistry, properties);
+    }
+
+
+    /**
+     * 获取所有Docket分组对应的Docket
+     *
+     * @param swaggerApiRegistry
+     * @return
+     */
+    private Map<String, Docket> getDockets(SwaggerApiRegistry swaggerApiRegistry) {
+        Map<String, Docket> dockets = new LinkedHashMap<>();
+        swaggerApiRegistry.getGroups().forEach(group -> dockets.put(group, getDocket(group)));
+        return dockets;
+    }
+
+    /**
+     * 获取Docket
+     *
+     * @param docketBeanName
+     * @return
+     */
+    private Docket getDocket(String docketBeanName) {
+        Docket docket;
+        //如果没有指定docketBeanName则根据类型来获取Bean
+        if (StringUtils.isBlank(docketBeanName)) {
+            docket = SwaggerScannerConfiguration.getBean(Docket.class);
+        } else {
+            docket = SwaggerScannerConfiguration.getBean(docketBeanName);
+        }
+        return docket;
+    }
+
+
+    @Override
+    public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
+        this.ownApplicationContext = applicationContext;
+        SwaggerScannerConfiguration.applicationContext = applicationContext;
+    }
+
+    /**
+     * context关闭时释放静态引用,使关闭的context中的bean和生成的class可以被回收
+     */
+    @Override
+    public void destroy() {
+        synchronized (SwaggerScannerConfiguration.class) {
+            if (SwaggerScannerConfiguration.applicationContext == ownApplicationContext) {
+                SwaggerScannerConfiguration.applicationContext = null;
+            }
+        }
+    }
+
+    /**
+     * 根据名称获取Bean
+     *
+     * @param beanName
+     * @param <T>
+     * @return
+     */
+    private static <T> T getBean(String beanName) {
+        return (T) applicationContext.getBean(beanName);
+    }
+
+    /**
+     * 根据Class获取Bean
+     *
+     * @param clazz
+     * @param <T>
+     * @return
+     */
+    private static <T> T getBean(Class<T> clazz) {
+        return applicationContext.getBean(clazz);
+    }
+
+    /**
+     * 用于获取@EnableEventDriven的docketBeanName
+     */
+    public static class SwaggerScannerRegistrar implements ImportBeanDefinitionRegistrar {
+
+        private static final String MICROMETER_METER_BINDER = "io.micrometer.core.instrument.binder.MeterBinder";
+
+        @Override
+        public void registerBeanDefinitions(AnnotationMetadata metadata, BeanDefinitionRegistry registry) {
+            Map<String, Object> annotationAttributes = metadata.getAnnotationAttributes(SwaggerScanner.class.getName());
+            AnnotationAttributes enableAttributes = AnnotationAttributes.fromMap(annotationAttributes);
+            boolean enable = enableAttributes.getBoolean("enable");
+
+            //如果未开启则结束
+            if (!enable) {
+                return;
+            }
+
+            BeanDefinition eventDrivenSwaggerScannerConfigurationDefinition = BeanDefinitionBuilder.rootBeanDefinition
+                    (SwaggerScannerConfiguration.class).getBeanDefinition();
+            registry.registerBeanDefinition("swaggerScannerConfiguration",
+                    eventDrivenSwaggerScannerConfigurationDefinition);
+
+            //classpath中存在Micrometer时将调用统计注册到MeterRegistry
+            if (ClassUtils.isPresent(MICROMETER_METER_BINDER, SwaggerScannerConfiguration.class.getClassLoader())) {
+                BeanDefinition swaggerInvokeMetricsBinderDefinition = BeanDefinitionBuilder.rootBeanDefinition
+                        (SwaggerInvokeMetricsBinder.class).addConstructorArgReference("swaggerInvokeMetrics")
+                        .getBeanDefinition();
+                registry.registerBeanDefinition("swaggerInvokeMetricsBinder", swaggerInvokeMetricsBinderDefinition);
+            }
+            String docketBeanName = enableAttributes.getString("docketBeanName");
+            if (StringUtils.isNotBlank(docketBeanName)) {
+                SwaggerScannerConfiguration.docketBeanName = docketBeanName;
+            }
+
+            String urlPattern = enableAttributes.getString("urlPattern");
+            if (StringUtils.isNotBlank(urlPattern)) {
+                URL_PATTERN = urlPattern;
+                PATH_PREFIX = urlPattern + "?";
+            }
+
+            properties.setMaxBodySize(enableAttributes.<Number>getNumber("maxBodySize").longValue());
+            properties.setAsync(enableAttributes.getBoolean("async"));
+            properties.setAsyncCorePoolSize(enableAttributes.<Number>getNumber("asyncCorePoolSize").intValue());
+            properties.setAsyncMaxPoolSize(enableAttributes.<Number>getNumber("asyncMaxPoolSize").intValue());
+            properties.setAsyncQueueCapacity(enableAttributes.<Number>getNumber("asyncQueueCapacity").intValue());
+            properties.setAsyncTimeout(enableAttributes.<Number>getNumber("asyncTimeout").longValue());
+            properties.setBatchParallelism(enableAttributes.<Number>getNumber("batchParallelism").intValue());
+            properties.setPayloadLogSampleRate(enableAttributes.<Number>getNumber("payloadLogSampleRate").doubleValue());
+            properties.setPayloadLogMaxBytes(enableAttributes.<Number>getNumber("payloadLogMaxBytes").intValue());
+            properties.setPayloadLogOverrides(enableAttributes.getStringArray("payloadLogOverrides"));
+            properties.setPayloadLogAsync(enableAttributes.getBoolean("payloadLogAsync"));
+            properties.setSingleFlight(enableAttributes.getBoolean("singleFlight"));
+            properties.setScanSnapshotFile(enableAttributes.getString("scanSnapshotFile"));
+            properties.setDeferredScan(enableAttributes.getBoolean("deferredScan"));
+            properties.setDeferredScanParallelism(enableAttributes.<Number>getNumber("deferredScanParallelism").intValue());
+            properties.setAnnotationIndex(enableAttributes.getBoolean("annotationIndex"));
+            properties.setExampleClassCacheDir(enableAttributes.getString("exampleClassCacheDir"));
+
+            List<SwaggerScannerProperties.DocketGroup> docketGroups = new ArrayList<>();
+            for (AnnotationAttributes groupAttributes : enableAttributes.getAnnotationArray("docketGroups")) {
+                SwaggerScannerProperties.DocketGroup docketGroup = new SwaggerScannerProperties.DocketGroup();
+                docketGroup.setDocketBeanName(groupAttributes.getString("docketBeanName"));
+                docketGroup.setTags(groupAttributes.getStringArray("tags"));
+                docketGroup.setPackages(groupAttributes.getStringArray("packages"));
+                docketGroups.add(docketGroup);
+            }
+            properties.setDocketGroups(docketGroups);
+
+        }
+
+    }
+
+}
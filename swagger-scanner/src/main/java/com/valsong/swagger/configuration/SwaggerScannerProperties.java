@@ -0,0 +1,344 @@
+package com.valsong.swagger.configuration;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * SwaggerScanner的配置,由{@link com.valsong.swagger.annotation.SwaggerScanner}的属性填充
+ *
+ * @author Val Song
+ */
+public class SwaggerScannerProperties {
+
+    /**
+     * 默认允许的最大请求体 10M
+     */
+    public static final long DEFAULT_MAX_BODY_SIZE = 10L * 1024 * 1024;
+
+    /**
+     * 允许的最大请求体字节数
+     */
+    private long maxBodySize = DEFAULT_MAX_BODY_SIZE;
+
+    /**
+     * 是否使用异步servlet,在独立的线程池中执行方法
+     */
+    private boolean async;
+
+    /**
+     * 异步执行方法的线程池核心线程数
+     */
+    private int asyncCorePoolSize = 2;
+
+    /**
+     * 异步执行方法的线程池最大线程数
+     */
+    private int asyncMaxPoolSize = 8;
+
+    /**
+     * 异步执行方法的线程池队列长度,队列满时返回503
+     */
+    private int asyncQueueCapacity = 100;
+
+    /**
+     * 异步请求的超时时间(毫秒),超时返回504
+     */
+    private long asyncTimeout = 60000L;
+
+    /**
+     * 批量调用的并行度,小于等于0时使用cpu核数
+     */
+    private int batchParallelism;
+
+    /**
+     * 批量调用的线程池队列长度,队列满时对应的调用返回503
+     */
+    private int batchQueueCapacity = 1000;
+
+    /**
+     * 记录请求和返回的Json的采样率 0~1
+     */
+    private double payloadLogSampleRate = 1.0;
+
+    /**
+     * 每个payload最多记录的字节数,超过的部分会被截断
+     */
+    private int payloadLogMaxBytes = 4096;
+
+    /**
+     * 按方法覆盖的采样规则,格式为 methodName=sampleRate 或 methodName=sampleRate:maxBytes
+     */
+    private String[] payloadLogOverrides = new String[0];
+
+    /**
+     * 是否在单独的线程中输出payload日志
+     */
+    private boolean payloadLogAsync = true;
+
+    /**
+     * 是否合并相同的并发调用
+     */
+    private boolean singleFlight;
+
+    /**
+     * 扫描结果快照文件的路径,为空时不使用快照
+     */
+    private String scanSnapshotFile;
+
+    /**
+     * 按tag或者包分配方法的Docket分组
+     */
+    private List<DocketGroup> docketGroups = new ArrayList<>();
+
+    /**
+     * 是否延迟到所有bean创建完成后并行扫描
+     */
+    private boolean deferredScan;
+
+    /**
+     * 延迟扫描的并行度,小于等于0时使用cpu核数
+     */
+    private int deferredScanParallelism;
+
+    /**
+     * 是否使用编译时生成的注解索引
+     */
+    private boolean annotationIndex;
+
+    /**
+     * 参数class的磁盘缓存目录,为空时不使用缓存
+     */
+    private String exampleClassCacheDir;
+
+    public long getMaxBodySize() {
+        return maxBodySize;
+    }
+
+    public void setMaxBodySize(long maxBodySize) {
+        this.maxBodySize = maxBodySize;
+    }
+
+    public boolean isAsync() {
+        return async;
+    }
+
+    public void setAsync(boolean async) {
+        this.async = async;
+    }
+
+    public int getAsyncCorePoolSize() {
+        return asyncCorePoolSize;
+    }
+
+    public void setAsyncCorePoolSize(int asyncCorePoolSize) {
+        this.asyncCorePoolSize = asyncCorePoolSize;
+    }
+
+    public int getAsyncMaxPoolSize() {
+        return asyncMaxPoolSize;
+    }
+
+    public void setAsyncMaxPoolSize(int asyncMaxPoolSize) {
+        this.asyncMaxPoolSize = asyncMaxPoolSize;
+    }
+
+    public int getAsyncQueueCapacity() {
+        return asyncQueueCapacity;
+    }
+
+    public void setAsyncQueueCapacity(int asyncQueueCapacity) {
+        this.asyncQueueCapacity = asyncQueueCapacity;
+    }
+
+    public long getAsyncTimeout() {
+        return asyncTimeout;
+    }
+
+    public void setAsyncTimeout(long asyncTimeout) {
+        this.asyncTimeout = asyncTimeout;
+    }
+
+    public int getBatchParallelism() {
+        return batchParallelism;
+    }
+
+    public void setBatchParallelism(int batchParallelism) {
+        this.batchParallelism = batchParallelism;
+    }
+
+    public int getBatchQueueCapacity() {
+        return batchQueueCapacity;
+    }
+
+    public void setBatchQueueCapacity(int batchQueueCapacity) {
+        this.batchQueueCapacity = batchQueueCapacity;
+    }
+
+    public double getPayloadLogSampleRate() {
+        return payloadLogSampleRate;
+    }
+
+    public void setPayloadLogSampleRate(double payloadLogSampleRate) {
+        this.payloadLogSampleRate = payloadLogSampleRate;
+    }
+
+    public int getPayloadLogMaxBytes() {
+        return payloadLogMaxBytes;
+    }
+
+    public void setPayloadLogMaxBytes(int payloadLogMaxBytes) {
+        this.payloadLogMaxBytes = payloadLogMaxBytes;
+    }
+
+    public String[] getPayloadLogOverrides() {
+        return payloadLogOverrides;
+    }
+
+    public void setPayloadLogOverrides(String[] payloadLogOverrides) {
+        this.payloadLogOverrides = payloadLogOverrides;
+    }
+
+    public boolean isPayloadLogAsync() {
+        return payloadLogAsync;
+    }
+
+    public void setPayloadLogAsync(boolean payloadLogAsync) {
+        this.payloadLogAsync = payloadLogAsync;
+    }
+
+    public boolean isSingleFlight() {
+        return singleFlight;
+    }
+
+    public void setSingleFlight(boolean singleFlight) {
+        this.singleFlight = singleFlight;
+    }
+
+    public String getScanSnapshotFile() {
+        return scanSnapshotFile;
+    }
+
+    public void setScanSnapshotFile(String scanSnapshotFile) {
+        this.scanSnapshotFile = scanSnapshotFile;
+    }
+
+    public List<DocketGroup> getDocketGroups() {
+        return docketGroups;
+    }
+
+    public void setDocketGroups(List<DocketGroup> docketGroups) {
+        this.docketGroups = docketGroups;
+    }
+
+    public boolean isDeferredScan() {
+        return deferredScan;
+    }
+
+    public void setDeferredScan(boolean deferredScan) {
+        this.deferredScan = deferredScan;
+    }
+
+    public int getDeferredScanParallelism() {
+        return deferredScanParallelism;
+    }
+
+    public void setDeferredScanParallelism(int deferredScanParallelism) {
+        this.deferredScanParallelism = deferredScanParallelism;
+    }
+
+    public boolean isAnnotationIndex() {
+        return annotationIndex;
+    }
+
+    public void setAnnotationIndex(boolean annotationIndex) {
+        this.annotationIndex = annotationIndex;
+    }
+
+    public String getExampleClassCacheDir() {
+        return exampleClassCacheDir;
+    }
+
+    public void setExampleClassCacheDir(String exampleClassCacheDir) {
+        this.exampleClassCacheDir = exampleClassCacheDir;
+    }
+
+    @Override
+    public String toString() {
+        return "SwaggerScannerProperties{" +
+                "maxBodySize=" + maxBodySize +
+                ", async=" + async +
+                ", asyncCorePoolSize=" + asyncCorePoolSize +
+                ", asyncMaxPoolSize=" + asyncMaxPoolSize +
+                ", asyncQueueCapacity=" + asyncQueueCapacity +
+                ", asyncTimeout=" + asyncTimeout +
+                ", batchParallelism=" + batchParallelism +
+                ", batchQueueCapacity=" + batchQueueCapacity +
+                ", payloadLogSampleRate=" + payloadLogSampleRate +
+                ", payloadLogMaxBytes=" + payloadLogMaxBytes +
+                ", payloadLogOverrides=" + Arrays.toString(payloadLogOverrides) +
+                ", payloadLogAsync=" + payloadLogAsync +
+                ", singleFlight=" + singleFlight +
+                ", scanSnapshotFile='" + scanSnapshotFile + '\'' +
+                ", docketGroups=" + docketGroups +
+                ", deferredScan=" + deferredScan +
+                ", deferredScanParallelism=" + deferredScanParallelism +
+                ", annotationIndex=" + annotationIndex +
+                ", exampleClassCacheDir='" + exampleClassCacheDir + '\'' +
+                '}';
+    }
+
+    /**
+     * Docket分组,由{@link com.valsong.swagger.annotation.SwaggerDocketGroup}的属性填充
+     */
+    public static class DocketGroup {
+
+        /**
+         * Docket bean 的名称
+         */
+        private String docketBeanName;
+
+        /**
+         * 分配到该Docket的tag名称
+         */
+        private String[] tags = new String[0];
+
+        /**
+         * 分配到该Docket的bean所在的包
+         */
+        private String[] packages = new String[0];
+
+        public String getDocketBeanName() {
+            return docketBeanName;
+        }
+
+        public void setDocketBeanName(String docketBeanName) {
+            this.docketBeanName = docketBeanName;
+        }
+
+        public String[] getTags() {
+            return tags;
+        }
+
+        public void setTags(String[] tags) {
+            this.tags = tags;
+        }
+
+        public String[] getPackages() {
+            return packages;
+        }
+
+        public void setPackages(String[] packages) {
+            this.packages = packages;
+        }
+
+        @Override
+        public String toString() {
+            return "DocketGroup{" +
+                    "docketBeanName='" + docketBeanName + '\'' +
+                    ", tags=" + Arrays.toString(tags) +
+                    ", packages=" + Arrays.toString(packages) +
+                    '}';
+        }
+    }
+}
@@ -18,6 +18,41 @@ public final class SwaggerScannerConstants {
      */
     public static String PATH_PREFIX = "/swagger_scanner?";
 
+    /**
+     * 批量调用的url后缀,即 /swagger_scanner/batch
+     */
+    public static final String BATCH_URL_SUFFIX = "/batch";
+
+    /**
+     * 调用统计的url后缀,即 /swagger_scanner/metrics
+     */
+    public static final String METRICS_URL_SUFFIX = "/metrics";
+
+    /**
+     * 方法名称与endpointId对应关系的url后缀,即 /swagger_scanner/endpoints
+     */
+    public static final String ENDPOINTS_URL_SUFFIX = "/endpoints";
+
+    /**
+     * 按endpointId调用时的请求参数,如 /swagger_scanner?endpointId=3
+     */
+    public static final String ENDPOINT_ID = "endpointId";
+
+    /**
+     * swagger-scanner-processor生成的注解索引的位置
+     */
+    public static final String ANNOTATION_INDEX_LOCATION = "META-INF/swagger-scanner.index";
+
+    /**
+     * swagger-scanner-maven-plugin生成的参数class索引的位置
+     */
+    public static final String EXAMPLE_CLASS_INDEX_LOCATION = "META-INF/swagger-scanner-examples.index";
+
+    /**
+     * swagger-scanner-maven-plugin生成的参数class的包名
+     */
+    public static final String PREBUILT_EXAMPLE_PACKAGE = "com.valsong.swagger.generated";
+
     /**
      * COLLECTION_FIRST_INDEX
      */
@@ -0,0 +1,31 @@
+package com.valsong.swagger.exception;
+
+/**
+ * 请求体超过限制的大小
+ *
+ * @author Val Song
+ */
+public class RequestBodyTooLargeException extends SwaggerScannerException {
+
+    /**
+     * 允许的最大请求体字节数
+     */
+    private final long maxBodySize;
+
+    /**
+     * Constructs an <code>RequestBodyTooLargeException</code> with the
+     * maximum body size that was exceeded.
+     *
+     * @param maxBodySize the maximum body size in bytes.
+     */
+    public RequestBodyTooLargeException(long maxBodySize) {
+        super("request body exceeds the max body size: " + maxBodySize + " bytes");
+        this.maxBodySize = maxBodySize;
+    }
+
+    public long getMaxBodySize() {
+        return maxBodySize;
+    }
+
+    private static final long serialVersionUID = 4206735981235580148L;
+}
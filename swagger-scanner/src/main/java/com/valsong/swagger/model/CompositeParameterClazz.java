@@ -0,0 +1,124 @@
+package com.valsong.swagger.model;
+
+import com.valsong.swagger.exception.SwaggerScannerException;
+import com.valsong.swagger.util.SwaggerExampleClassBuilder;
+import com.valsong.swagger.util.SwaggerExampleClassLoader;
+
+import java.lang.reflect.Method;
+
+/**
+ * 延迟生成的byte buddy参数class,由MethodProperty和SwaggerApiProperty共享
+ * <p>
+ * 第一次获取时才生成并加载class,之后一直使用同一个class;
+ * 扫描时不再生成,被isAccept拒绝的方法不会生成class。
+ * 注意springfox的DocumentationPluginsBootstrapper在启动的最后阶段会解析所有Docket,
+ * 其中每个被接受的方法都需要参数class,所以启动时仍然会生成,只是从扫描阶段移到了springfox生成文档时,
+ * 没有对应Docket的分组中的方法和springfox没有启动(如springfox.documentation.auto-startup=false)时不会生成;
+ * 需要减少启动时的生成时使用swagger-scanner-maven-plugin预先生成或者开启磁盘缓存
+ *
+ * @author Val Song
+ */
+public final class CompositeParameterClazz {
+
+    /**
+     * 方法,已经生成时为null
+     */
+    private Method method;
+
+    /**
+     * 调用方法的bean的class,用于解析泛型,已经生成时为null
+     */
+    private Class<?> beanClazz;
+
+    /**
+     * 定义生成的class的classLoader,可以为null,已经生成时为null
+     */
+    private SwaggerExampleClassLoader exampleClassLoader;
+
+    private volatile Class<?> clazz;
+
+    private CompositeParameterClazz(Method method, Class<?> beanClazz, SwaggerExampleClassLoader exampleClassLoader,
+                                    Class<?> clazz) {
+        this.method = method;
+        this.beanClazz = beanClazz;
+        this.exampleClassLoader = exampleClassLoader;
+        this.clazz = clazz;
+    }
+
+    /**
+     * 第一次获取时再生成
+     *
+     * @param method    方法
+     * @param beanClazz 调用方法的bean的class
+     * @return
+     */
+    public static CompositeParameterClazz lazy(Method method, Class<?> beanClazz) {
+        return lazy(method, beanClazz, null);
+    }
+
+    /**
+     * 第一次获取时再生成,生成的class定义在registry的classLoader中
+     *
+     * @param method             方法
+     * @param beanClazz          调用方法的bean的class
+     * @param exampleClassLoader 定义生成的class的classLoader,为null时使用默认的classLoader
+     * @return
+     */
+    public static CompositeParameterClazz lazy(Method method, Class<?> beanClazz,
+                                               SwaggerExampleClassLoader exampleClassLoader) {
+        return new CompositeParameterClazz(method, beanClazz, exampleClassLoader, null);
+    }
+
+    /**
+     * 已经生成的class
+     *
+     * @param clazz
+     * @return clazz为null时返回null
+     */
+    public static CompositeParameterClazz of(Class<?> clazz) {
+        return clazz == null ? null : new CompositeParameterClazz(null, null, null, clazz);
+    }
+
+    /**
+     * 获取参数class,没有生成时生成
+     *
+     * @return
+     */
+    public Class<?> get() {
+        Class<?> value = clazz;
+        if (value != null) {
+            return value;
+        }
+        synchronized (this) {
+            if (clazz == null) {
+                try {
+                    clazz = exampleClassLoader != null ?
+                            SwaggerExampleClassBuilder.build(method, beanClazz, exampleClassLoader) :
+                            SwaggerExampleClassBuilder.build(method, beanClazz);
+                } catch (RuntimeException e) {
+                    throw new SwaggerScannerException("composite parameter class build failed, method: " + method, e);
+                }
+                //生成后不再需要
+                method = null;
+                beanClazz = null;
+                exampleClassLoader = null;
+            }
+            return clazz;
+        }
+    }
+
+    /**
+     * 是否已经生成
+     *
+     * @return
+     */
+    public boolean isBuilt() {
+        return clazz != null;
+    }
+
+    @Override
+    public String toString() {
+        Class<?> value = clazz;
+        return value != null ? value.getName() : "CompositeParameterClazz{lazy, method=" + method + '}';
+    }
+}
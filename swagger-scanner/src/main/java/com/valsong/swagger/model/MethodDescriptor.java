@@ -0,0 +1,126 @@
+package com.valsong.swagger.model;
+
+import com.valsong.swagger.support.SwaggerApiDescHelper;
+import io.swagger.annotations.ApiOperation;
+import org.springframework.core.annotation.AnnotationUtils;
+
+import java.lang.ref.SoftReference;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 方法的享元描述,同一个Method只有一个实例,由SwaggerApiProperty和MethodProperty共享
+ * <p>
+ * 只强引用Method本身,参数类型、返回值类型、@ApiOperation和页面上的描述都在第一次使用时计算,
+ * 通过SoftReference缓存,内存不足时可以被回收,之后再次使用时重新计算
+ *
+ * @author Val Song
+ */
+public final class MethodDescriptor {
+
+    /**
+     * 按声明方法的类保存,类被卸载时一起回收
+     */
+    private static final ClassValue<Map<Method, MethodDescriptor>> DESCRIPTORS =
+            new ClassValue<Map<Method, MethodDescriptor>>() {
+                @Override
+                protected Map<Method, MethodDescriptor> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    /**
+     * 表示没有@ApiOperation注解
+     */
+    private static final Object NONE = new Object();
+
+    private final Method method;
+
+    private volatile SoftReference<Type[]> genericParameterTypes;
+
+    /**
+     * ApiOperation或者NONE
+     */
+    private volatile SoftReference<Object> apiOperation;
+
+    private volatile SoftReference<String> parameterDesc;
+
+    private volatile SoftReference<String> returnDesc;
+
+    private MethodDescriptor(Method method) {
+        this.method = method;
+    }
+
+    /**
+     * 获取方法的描述,同一个Method返回同一个实例
+     *
+     * @param method
+     * @return
+     */
+    public static MethodDescriptor of(Method method) {
+        return DESCRIPTORS.get(method.getDeclaringClass()).computeIfAbsent(method, MethodDescriptor::new);
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    public Type[] getGenericParameterTypes() {
+        SoftReference<Type[]> ref = genericParameterTypes;
+        Type[] value = ref == null ? null : ref.get();
+        if (value == null) {
+            value = method.getGenericParameterTypes();
+            genericParameterTypes = new SoftReference<>(value);
+        }
+        return value;
+    }
+
+    public Type getGenericReturnType() {
+        return method.getGenericReturnType();
+    }
+
+    /**
+     * 方法上的@ApiOperation
+     *
+     * @return 没有时返回null
+     */
+    public ApiOperation getApiOperation() {
+        SoftReference<Object> ref = apiOperation;
+        Object value = ref == null ? null : ref.get();
+        if (value == null) {
+            ApiOperation annotation = AnnotationUtils.findAnnotation(method, ApiOperation.class);
+            value = annotation == null ? NONE : annotation;
+            apiOperation = new SoftReference<>(value);
+        }
+        return value == NONE ? null : (ApiOperation) value;
+    }
+
+    public String getParameterDesc() {
+        SoftReference<String> ref = parameterDesc;
+        String value = ref == null ? null : ref.get();
+        if (value == null) {
+            value = SwaggerApiDescHelper.parameterDesc(method);
+            parameterDesc = new SoftReference<>(value);
+        }
+        return value;
+    }
+
+    public String getReturnDesc() {
+        SoftReference<String> ref = returnDesc;
+        String value = ref == null ? null : ref.get();
+        if (value == null) {
+            value = SwaggerApiDescHelper.returnDesc(method);
+            returnDesc = new SoftReference<>(value);
+        }
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return "MethodDescriptor{" +
+                "method=" + method +
+                '}';
+    }
+}
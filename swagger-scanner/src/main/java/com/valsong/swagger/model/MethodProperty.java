@@ -0,0 +1,207 @@
+package com.valsong.swagger.model;
+
+import com.valsong.swagger.annotation.SwaggerCacheable;
+import com.valsong.swagger.support.MethodInvoker;
+import com.valsong.swagger.support.MethodMetrics;
+import com.valsong.swagger.support.SwaggerParameterBinder;
+import com.valsong.swagger.support.SwaggerResultCache;
+
+import java.lang.reflect.Method;
+
+/**
+ * MethodProperty
+ *
+ * @author Val Song
+ */
+public class MethodProperty {
+
+
+    /**
+     * bean的名称
+     */
+    private String beanName;
+
+    /**
+     * 注册的方法名称,即 beanName.methodName
+     */
+    private String methodName;
+
+    /**
+     * 注册时分配的endpointId,未注册时为-1
+     */
+    private int endpointId = -1;
+
+    /**
+     * 实例,同一个类的bean重新创建时替换为新的实例
+     */
+    private volatile Object instance;
+
+    /**
+     * 方法的享元描述
+     */
+    private MethodDescriptor descriptor;
+
+
+    /**
+     * 使用byte buddy根据方法参数作为field生成的class,第一次获取时生成
+     */
+    private CompositeParameterClazz compositeParameterClazz;
+
+    /**
+     * 注册时预先生成的方法调用器,绑定了实例,和实例一起替换
+     */
+    private volatile MethodInvoker invoker;
+
+    /**
+     * 注册时预先生成的参数绑定器
+     */
+    private SwaggerParameterBinder parameterBinder;
+
+    /**
+     * 调用统计
+     */
+    private MethodMetrics metrics;
+
+    /**
+     * 扫描时读取的缓存注解,不可缓存时为null
+     */
+    private SwaggerCacheable cacheable;
+
+    /**
+     * 返回值缓存,不可缓存时为null
+     */
+    private SwaggerResultCache resultCache;
+
+
+    public MethodProperty() {
+    }
+
+    public MethodProperty(String beanName, Object instance, Method method, Class<?> compositeParameterClazz) {
+        this(beanName, instance, method, CompositeParameterClazz.of(compositeParameterClazz));
+    }
+
+    public MethodProperty(String beanName, Object instance, Method method,
+                          CompositeParameterClazz compositeParameterClazz) {
+        this.beanName = beanName;
+        this.instance = instance;
+        setMethod(method);
+        this.compositeParameterClazz = compositeParameterClazz;
+    }
+
+    public String getBeanName() {
+        return beanName;
+    }
+
+    public void setBeanName(String beanName) {
+        this.beanName = beanName;
+    }
+
+    public String getMethodName() {
+        return methodName;
+    }
+
+    public void setMethodName(String methodName) {
+        this.methodName = methodName;
+    }
+
+    public int getEndpointId() {
+        return endpointId;
+    }
+
+    public void setEndpointId(int endpointId) {
+        this.endpointId = endpointId;
+    }
+
+    public Object getInstance() {
+        return instance;
+    }
+
+    public void setInstance(Object instance) {
+        this.instance = instance;
+    }
+
+    public Method getMethod() {
+        return descriptor == null ? null : descriptor.getMethod();
+    }
+
+    public void setMethod(Method method) {
+        this.descriptor = method == null ? null : MethodDescriptor.of(method);
+    }
+
+    public MethodDescriptor getDescriptor() {
+        return descriptor;
+    }
+
+    /**
+     * 获取参数class,没有生成时生成
+     *
+     * @return
+     */
+    public Class<?> getCompositeParameterClazz() {
+        return compositeParameterClazz == null ? null : compositeParameterClazz.get();
+    }
+
+    public void setCompositeParameterClazz(Class<?> compositeParameterClazz) {
+        this.compositeParameterClazz = CompositeParameterClazz.of(compositeParameterClazz);
+    }
+
+    public CompositeParameterClazz getLazyCompositeParameterClazz() {
+        return compositeParameterClazz;
+    }
+
+    public void setLazyCompositeParameterClazz(CompositeParameterClazz compositeParameterClazz) {
+        this.compositeParameterClazz = compositeParameterClazz;
+    }
+
+    public MethodInvoker getInvoker() {
+        return invoker;
+    }
+
+    public void setInvoker(MethodInvoker invoker) {
+        this.invoker = invoker;
+    }
+
+    public SwaggerParameterBinder getParameterBinder() {
+        return parameterBinder;
+    }
+
+    public void setParameterBinder(SwaggerParameterBinder parameterBinder) {
+        this.parameterBinder = parameterBinder;
+    }
+
+    public MethodMetrics getMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(MethodMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public SwaggerCacheable getCacheable() {
+        return cacheable;
+    }
+
+    public void setCacheable(SwaggerCacheable cacheable) {
+        this.cacheable = cacheable;
+    }
+
+    public SwaggerResultCache getResultCache() {
+        return resultCache;
+    }
+
+    public void setResultCache(SwaggerResultCache resultCache) {
+        this.resultCache = resultCache;
+    }
+
+    @Override
+    public String toString() {
+        return "MethodProperty{" +
+                "beanName='" + beanName + '\'' +
+                ", methodName='" + methodName + '\'' +
+                ", endpointId=" + endpointId +
+                ", instance=" + instance +
+                ", method=" + getMethod() +
+                ", compositeParameterClazz=" + compositeParameterClazz +
+                '}';
+    }
+}
@@ -23,44 +23,59 @@ public class SwaggerApiProperty {
      */
     private String name;
 
+    /**
+     * bean的名称
+     */
+    private String beanName;
+
+    /**
+     * 所在的Docket分组,为null时注册时由SwaggerDocketRouter分配
+     */
+    private String group;
+
     /**
      * bean的class
      */
     private Class<?> beanClazz;
 
     /**
-     * 方法
+     * 对应的页面触发的方法,移除bean时按其中的实例判断是否移除,为null时按bean名称移除
      */
-    private Method method;
+    private MethodProperty methodProperty;
 
     /**
-     * 方法参数类型
+     * 方法的享元描述,参数类型、返回值类型、@ApiOperation和描述未单独指定时从中获取
+     */
+    private MethodDescriptor descriptor;
+
+    /**
+     * 方法参数类型,为null时从descriptor获取
      */
     private Type[] genericParameterTypes;
 
     /**
-     * 返回值类型
+     * 返回值类型,为null时从descriptor获取
      */
     private Type genericReturnType;
 
 
     /**
-     * byte buddy将多个参数混合生成的class
+     * byte buddy将多个参数混合生成的class,第一次获取时生成
      */
-    private Class<?> compositeParameterClazz;
+    private CompositeParameterClazz compositeParameterClazz;
 
     /**
-     * @ApiOperation 注解，支持summary和notes
+     * @ApiOperation 注解，支持summary和notes,为null时从descriptor获取
      */
     private ApiOperation apiOperation;
 
     /**
-     * 参数描述  注意此处的parameterDesc中需要将"<"替换成"&lt;"、">"替换成"&gt;"
+     * 参数描述  注意此处的parameterDesc中需要将"<"替换成"&lt;"、">"替换成"&gt;",为null时从descriptor获取
      */
     private String parameterDesc;
 
     /**
-     * 返回值描述 注意此处的returnDesc中需要将"<"替换成"&lt;"、">"替换成"&gt;"
+     * 返回值描述 注意此处的returnDesc中需要将"<"替换成"&lt;"、">"替换成"&gt;",为null时从descriptor获取
      */
     private String returnDesc;
 
@@ -70,11 +85,14 @@ public class SwaggerApiProperty {
     private SwaggerApiProperty(Builder builder) {
         setTag(builder.tag);
         setName(builder.name);
+        setBeanName(builder.beanName);
+        setGroup(builder.group);
         setBeanClazz(builder.beanClazz);
+        setMethodProperty(builder.methodProperty);
         setMethod(builder.method);
         setGenericParameterTypes(builder.genericParameterTypes);
         setGenericReturnType(builder.genericReturnType);
-        setCompositeParameterClazz(builder.compositeParameterClazz);
+        setLazyCompositeParameterClazz(builder.compositeParameterClazz);
         setApiOperation(builder.apiOperation);
         setParameterDesc(builder.parameterDesc);
         setReturnDesc(builder.returnDesc);
@@ -100,6 +118,22 @@ public class SwaggerApiProperty {
         this.name = name;
     }
 
+    public String getBeanName() {
+        return beanName;
+    }
+
+    public void setBeanName(String beanName) {
+        this.beanName = beanName;
+    }
+
+    public String getGroup() {
+        return group;
+    }
+
+    public void setGroup(String group) {
+        this.group = group;
+    }
+
     public Class<?> getBeanClazz() {
         return beanClazz;
     }
@@ -108,15 +142,30 @@ public class SwaggerApiProperty {
         this.beanClazz = beanClazz;
     }
 
+    public MethodProperty getMethodProperty() {
+        return methodProperty;
+    }
+
+    public void setMethodProperty(MethodProperty methodProperty) {
+        this.methodProperty = methodProperty;
+    }
+
     public Method getMethod() {
-        return method;
+        return descriptor == null ? null : descriptor.getMethod();
     }
 
     public void setMethod(Method method) {
-        this.method = method;
+        this.descriptor = method == null ? null : MethodDescriptor.of(method);
+    }
+
+    public MethodDescriptor getDescriptor() {
+        return descriptor;
     }
 
     public Type[] getGenericParameterTypes() {
+        if (genericParameterTypes == null && descriptor != null) {
+            return descriptor.getGenericParameterTypes();
+        }
         return genericParameterTypes;
     }
 
@@ -125,6 +174,9 @@ public class SwaggerApiProperty {
     }
 
     public Type getGenericReturnType() {
+        if (genericReturnType == null && descriptor != null) {
+            return descriptor.getGenericReturnType();
+        }
         return genericReturnType;
     }
 
@@ -132,15 +184,31 @@ public class SwaggerApiProperty {
         this.genericReturnType = genericReturnType;
     }
 
+    /**
+     * 获取参数class,没有生成时生成
+     *
+     * @return
+     */
     public Class<?> getCompositeParameterClazz() {
-        return compositeParameterClazz;
+        return compositeParameterClazz == null ? null : compositeParameterClazz.get();
     }
 
     public void setCompositeParameterClazz(Class<?> compositeParameterClazz) {
+        this.compositeParameterClazz = CompositeParameterClazz.of(compositeParameterClazz);
+    }
+
+    public CompositeParameterClazz getLazyCompositeParameterClazz() {
+        return compositeParameterClazz;
+    }
+
+    public void setLazyCompositeParameterClazz(CompositeParameterClazz compositeParameterClazz) {
         this.compositeParameterClazz = compositeParameterClazz;
     }
 
     public ApiOperation getApiOperation() {
+        if (apiOperation == null && descriptor != null) {
+            return descriptor.getApiOperation();
+        }
         return apiOperation;
     }
 
@@ -149,6 +217,9 @@ public class SwaggerApiProperty {
     }
 
     public String getParameterDesc() {
+        if (parameterDesc == null && descriptor != null) {
+            return descriptor.getParameterDesc();
+        }
         return parameterDesc;
     }
 
@@ -157,6 +228,9 @@ public class SwaggerApiProperty {
     }
 
     public String getReturnDesc() {
+        if (returnDesc == null && descriptor != null) {
+            return descriptor.getReturnDesc();
+        }
         return returnDesc;
     }
 
@@ -171,11 +245,14 @@ public class SwaggerApiProperty {
     public static final class Builder {
         private String tag;
         private String name;
+        private String beanName;
+        private String group;
         private Class<?> beanClazz;
+        private MethodProperty methodProperty;
         private Method method;
         private Type[] genericParameterTypes;
         private Type genericReturnType;
-        private Class<?> compositeParameterClazz;
+        private CompositeParameterClazz compositeParameterClazz;
         private ApiOperation apiOperation;
         private String parameterDesc;
         private String returnDesc;
@@ -193,11 +270,26 @@ public class SwaggerApiProperty {
             return this;
         }
 
+        public Builder beanName(String val) {
+            beanName = val;
+            return this;
+        }
+
+        public Builder group(String val) {
+            group = val;
+            return this;
+        }
+
         public Builder beanClazz(Class<?> val) {
             beanClazz = val;
             return this;
         }
 
+        public Builder methodProperty(MethodProperty val) {
+            methodProperty = val;
+            return this;
+        }
+
         public Builder method(Method val) {
             method = val;
             return this;
@@ -214,6 +306,11 @@ public class SwaggerApiProperty {
         }
 
         public Builder compositeParameterClazz(Class<?> val) {
+            compositeParameterClazz = CompositeParameterClazz.of(val);
+            return this;
+        }
+
+        public Builder compositeParameterClazz(CompositeParameterClazz val) {
             compositeParameterClazz = val;
             return this;
         }
@@ -243,8 +340,10 @@ public class SwaggerApiProperty {
         return "SwaggerApiProperty{" +
                 "tag='" + tag + '\'' +
                 ", name='" + name + '\'' +
+                ", beanName='" + beanName + '\'' +
+                ", group='" + group + '\'' +
                 ", beanClazz=" + beanClazz +
-                ", method=" + method +
+                ", method=" + getMethod() +
                 ", genericParameterTypes=" + Arrays.toString(genericParameterTypes) +
                 ", genericReturnType=" + genericReturnType +
                 ", compositeParameterClazz=" + compositeParameterClazz +
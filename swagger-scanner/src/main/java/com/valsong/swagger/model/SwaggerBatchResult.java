@@ -0,0 +1,114 @@
+package com.valsong.swagger.model;
+
+import com.valsong.swagger.support.MethodMetrics;
+
+/**
+ * 批量调用中单个调用的结果
+ *
+ * @author Val Song
+ */
+public class SwaggerBatchResult {
+
+    public static final int OK = 200;
+
+    public static final int BAD_REQUEST = 400;
+
+    public static final int NOT_FOUND = 404;
+
+    public static final int ERROR = 500;
+
+    public static final int UNAVAILABLE = 503;
+
+    /**
+     * 调用的方法名称
+     */
+    private String method;
+
+    /**
+     * 调用状态,与http状态码含义一致
+     */
+    private int status;
+
+    /**
+     * 方法返回值
+     */
+    private Object result;
+
+    /**
+     * 调用失败时的错误信息
+     */
+    private String error;
+
+    /**
+     * 调用的方法的统计,用于记录返回的字节数,不会序列化到返回的Json中
+     */
+    private transient MethodMetrics metrics;
+
+    public SwaggerBatchResult() {
+    }
+
+    public SwaggerBatchResult(String method, int status, Object result, String error) {
+        this.method = method;
+        this.status = status;
+        this.result = result;
+        this.error = error;
+    }
+
+    public static SwaggerBatchResult ok(String method, Object result) {
+        return new SwaggerBatchResult(method, OK, result, null);
+    }
+
+    public static SwaggerBatchResult failed(String method, int status, String error) {
+        return new SwaggerBatchResult(method, status, null, error);
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public void setMethod(String method) {
+        this.method = method;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public Object getResult() {
+        return result;
+    }
+
+    public void setResult(Object result) {
+        this.result = result;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public MethodMetrics getMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(MethodMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public String toString() {
+        return "SwaggerBatchResult{" +
+                "method='" + method + '\'' +
+                ", status=" + status +
+                ", result=" + result +
+                ", error='" + error + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,340 @@
+package com.valsong.swagger.model;
+
+import com.valsong.swagger.support.MethodMetrics;
+import com.valsong.swagger.support.SwaggerResultCache;
+import com.valsong.swagger.util.LongHistogram;
+
+/**
+ * 方法调用统计的快照,用于输出Json
+ *
+ * @author Val Song
+ */
+public class SwaggerMethodMetrics {
+
+    private static final double NANOS_PER_MILLI = 1_000_000D;
+
+    /**
+     * 方法名称
+     */
+    private String method;
+
+    /**
+     * 调用次数
+     */
+    private long calls;
+
+    /**
+     * 失败次数
+     */
+    private long errors;
+
+    /**
+     * 开启single flight时共享了其他调用结果的次数
+     */
+    private long shared;
+
+    /**
+     * 调用耗时(毫秒)
+     */
+    private Distribution latencyMillis;
+
+    /**
+     * 请求体的字节数
+     */
+    private Distribution requestBytes;
+
+    /**
+     * 返回的Json的字节数
+     */
+    private Distribution responseBytes;
+
+    /**
+     * 返回值缓存的统计,不可缓存时为null
+     */
+    private CacheStats cache;
+
+    public SwaggerMethodMetrics() {
+    }
+
+    public static SwaggerMethodMetrics of(String method, MethodMetrics metrics) {
+        SwaggerMethodMetrics snapshot = new SwaggerMethodMetrics();
+        snapshot.method = method;
+        snapshot.calls = metrics.getCalls();
+        snapshot.errors = metrics.getErrors();
+        snapshot.shared = metrics.getShared();
+        snapshot.latencyMillis = Distribution.of(metrics.getLatency(), NANOS_PER_MILLI);
+        snapshot.requestBytes = Distribution.of(metrics.getRequestBytes(), 1D);
+        snapshot.responseBytes = Distribution.of(metrics.getResponseBytes(), 1D);
+        if (metrics.getResultCache() != null) {
+            snapshot.cache = CacheStats.of(metrics.getResultCache());
+        }
+        return snapshot;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public void setMethod(String method) {
+        this.method = method;
+    }
+
+    public long getCalls() {
+        return calls;
+    }
+
+    public void setCalls(long calls) {
+        this.calls = calls;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public void setErrors(long errors) {
+        this.errors = errors;
+    }
+
+    public long getShared() {
+        return shared;
+    }
+
+    public void setShared(long shared) {
+        this.shared = shared;
+    }
+
+    public Distribution getLatencyMillis() {
+        return latencyMillis;
+    }
+
+    public void setLatencyMillis(Distribution latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    public Distribution getRequestBytes() {
+        return requestBytes;
+    }
+
+    public void setRequestBytes(Distribution requestBytes) {
+        this.requestBytes = requestBytes;
+    }
+
+    public Distribution getResponseBytes() {
+        return responseBytes;
+    }
+
+    public void setResponseBytes(Distribution responseBytes) {
+        this.responseBytes = responseBytes;
+    }
+
+    public CacheStats getCache() {
+        return cache;
+    }
+
+    public void setCache(CacheStats cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public String toString() {
+        return "SwaggerMethodMetrics{" +
+                "method='" + method + '\'' +
+                ", calls=" + calls +
+                ", errors=" + errors +
+                ", shared=" + shared +
+                ", latencyMillis=" + latencyMillis +
+                ", requestBytes=" + requestBytes +
+                ", responseBytes=" + responseBytes +
+                ", cache=" + cache +
+                '}';
+    }
+
+    /**
+     * 返回值缓存的统计
+     */
+    public static class CacheStats {
+
+        private long hits;
+
+        private long misses;
+
+        private long evictions;
+
+        private int size;
+
+        private int maxSize;
+
+        public CacheStats() {
+        }
+
+        public static CacheStats of(SwaggerResultCache resultCache) {
+            CacheStats stats = new CacheStats();
+            stats.hits = resultCache.getHits();
+            stats.misses = resultCache.getMisses();
+            stats.evictions = resultCache.getEvictions();
+            stats.size = resultCache.size();
+            stats.maxSize = resultCache.getMaxSize();
+            return stats;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public void setHits(long hits) {
+            this.hits = hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public void setMisses(long misses) {
+            this.misses = misses;
+        }
+
+        public long getEvictions() {
+            return evictions;
+        }
+
+        public void setEvictions(long evictions) {
+            this.evictions = evictions;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public void setSize(int size) {
+            this.size = size;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        public String toString() {
+            return "CacheStats{" +
+                    "hits=" + hits +
+                    ", misses=" + misses +
+                    ", evictions=" + evictions +
+                    ", size=" + size +
+                    ", maxSize=" + maxSize +
+                    '}';
+        }
+    }
+
+    /**
+     * 分布
+     */
+    public static class Distribution {
+
+        private long count;
+
+        private double mean;
+
+        private double max;
+
+        private double p50;
+
+        private double p90;
+
+        private double p99;
+
+        private double p999;
+
+        public Distribution() {
+        }
+
+        /**
+         * @param histogram
+         * @param scale     记录值与输出值的比例
+         * @return
+         */
+        public static Distribution of(LongHistogram histogram, double scale) {
+            Distribution distribution = new Distribution();
+            distribution.count = histogram.getCount();
+            distribution.mean = histogram.getMean() / scale;
+            distribution.max = histogram.getMax() / scale;
+            distribution.p50 = histogram.getPercentile(0.5) / scale;
+            distribution.p90 = histogram.getPercentile(0.9) / scale;
+            distribution.p99 = histogram.getPercentile(0.99) / scale;
+            distribution.p999 = histogram.getPercentile(0.999) / scale;
+            return distribution;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public void setCount(long count) {
+            this.count = count;
+        }
+
+        public double getMean() {
+            return mean;
+        }
+
+        public void setMean(double mean) {
+            this.mean = mean;
+        }
+
+        public double getMax() {
+            return max;
+        }
+
+        public void setMax(double max) {
+            this.max = max;
+        }
+
+        public double getP50() {
+            return p50;
+        }
+
+        public void setP50(double p50) {
+            this.p50 = p50;
+        }
+
+        public double getP90() {
+            return p90;
+        }
+
+        public void setP90(double p90) {
+            this.p90 = p90;
+        }
+
+        public double getP99() {
+            return p99;
+        }
+
+        public void setP99(double p99) {
+            this.p99 = p99;
+        }
+
+        public double getP999() {
+            return p999;
+        }
+
+        public void setP999(double p999) {
+            this.p999 = p999;
+        }
+
+        @Override
+        public String toString() {
+            return "Distribution{" +
+                    "count=" + count +
+                    ", mean=" + mean +
+                    ", max=" + max +
+                    ", p50=" + p50 +
+                    ", p90=" + p90 +
+                    ", p99=" + p99 +
+                    ", p999=" + p999 +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.valsong.swagger.scanner;
+
+import com.valsong.swagger.annotation.SwaggerCacheable;
+import com.valsong.swagger.model.CompositeParameterClazz;
+import com.valsong.swagger.model.MethodProperty;
+import com.valsong.swagger.model.SwaggerApiProperty;
+import com.valsong.swagger.support.SwaggerAnnotationIndex;
+import com.valsong.swagger.support.SwaggerApiRegistry;
+import com.valsong.swagger.support.SwaggerScanSnapshot;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+import springfox.documentation.annotations.ApiIgnore;
+import springfox.documentation.service.Tag;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+
+/**
+ * 扫描spring bean的标有指定注解的方法
+ *
+ * @author Val Song
+ */
+public abstract class AbstractSwaggerBeanScanner<MA extends Annotation> implements BeanPostProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(AbstractSwaggerBeanScanner.class);
+
+    private SwaggerApiRegistry swaggerApiRegistry;
+
+    /**
+     * 每个类中需要扫描的方法,没有时为空列表,同一个类的bean(如prototype bean)只反射遍历一次
+     */
+    private final ClassValue<List<Method>> scannedMethods = new ClassValue<List<Method>>() {
+        @Override
+        protected List<Method> computeValue(Class<?> type) {
+            List<Method> methods = annotatedMethods(methodAnnotationClazz(), type);
+            return methods.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(methods);
+        }
+    };
+
+    public AbstractSwaggerBeanScanner(SwaggerApiRegistry swaggerApiRegistry) {
+        this.swaggerApiRegistry = swaggerApiRegistry;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+        return bean;
+    }
+
+    /**
+     * 必须填写
+     *
+     * 需要扫描的写在Spring的bean的方法上的注解
+     *
+     * @return
+     */
+    public abstract Class<MA> methodAnnotationClazz();
+
+    /**
+     * 可以返回null
+     *
+     * 返回添加在swagger url上的后缀也可以做一些其他操作
+     *
+     * @param methodAnnotation
+     * @param methodProperty
+     * @return
+     */
+    public abstract String pathSuffix(MA methodAnnotation, MethodProperty methodProperty);
+
+
+    /**
+     * 必须填写
+     *
+     * 返回该方法需要的swagger的tag new Tag(name,desc)
+     *
+     * @param methodAnnotation
+     * @param methodProperty
+     * @return
+     */
+    public abstract Tag tag(MA methodAnnotation, MethodProperty methodProperty);
+
+    /**
+     * 如果返回false则不扫描该方法到swagger
+     * 推荐返回true或者根据条件返回true
+     *
+     * 是否扫描该方法
+     *
+     * @param methodAnnotation
+     * @param methodProperty
+     * @return
+     */
+    public abstract boolean isAccept(MA methodAnnotation, MethodProperty methodProperty);
+
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        try {
+
+            //CGLIB代理使用被代理的类,不扫描代理类生成的方法
+            Class<?> clazz = ClassUtils.getUserClass(bean);
+
+            ApiIgnore apiIgnore = AnnotationUtils.findAnnotation(clazz, ApiIgnore.class);
+            //是否被忽略
+            if (apiIgnore != null) {
+                logger.info(" clazz: {} with @ApiIgnore is skipped by AbstractSwaggerBeanScanner .", clazz);
+                return bean;
+            }
+
+            final Class<MA> methodAnnotationClazz = methodAnnotationClazz();
+
+            if (methodAnnotationClazz == null) {
+                return bean;
+            }
+
+            if (isDeferredScan()) {
+                swaggerApiRegistry.getDeferredScanStage().defer(() -> scan(methodAnnotationClazz, beanName, bean,
+                        clazz));
+            } else {
+                scan(methodAnnotationClazz, beanName, bean, clazz);
+            }
+
+        } catch (Exception e) {
+            logger.error("An error occurred, when swagger scan bean " + bean.getClass(), e);
+            throw new ExceptionInInitializerError(e);
+        }
+        return bean;
+    }
+
+    /**
+     * 扫描
+     *
+     * @param methodAnnotationClazz
+     * @param beanName
+     * @param bean
+     * @param clazz                 bean的类,代理时为被代理的类
+     */
+    private void scan(Class<MA> methodAnnotationClazz, String beanName, Object bean, Class<?> clazz) {
+        List<Method> methods = scannedMethods.get(clazz);
+        //没有需要扫描的方法的类不会注册任何方法
+        if (methods.isEmpty()) {
+            return;
+        }
+
+        //同一个类的bean重新创建(如prototype bean)时只把已注册的方法指向新的实例,不重新扫描
+        if (swaggerApiRegistry.rebindBean(beanName, bean)) {
+            return;
+        }
+
+        //bean被重新创建时移除旧实例注册的方法
+        swaggerApiRegistry.replaceBean(beanName, bean);
+
+        for (Method method : methods) {
+
+            MA methodAnnotation = AnnotationUtils.findAnnotation(method, methodAnnotationClazz);
+
+            //参数class在springfox生成文档时才生成,被拒绝的方法不会生成
+            CompositeParameterClazz compositeParameterClazz = CompositeParameterClazz.lazy(method, clazz,
+                    swaggerApiRegistry.getExampleClassLoader());
+
+            MethodProperty methodProperty = new MethodProperty(beanName, bean, method, compositeParameterClazz);
+
+            //是否缓存返回值
+            methodProperty.setCacheable(AnnotationUtils.findAnnotation(method, SwaggerCacheable.class));
+
+            boolean isAccept = isAccept(methodAnnotation, methodProperty);
+
+            if (!isAccept) {
+                continue;
+            }
+
+            String pathSuffix = pathSuffix(methodAnnotation, methodProperty);
+
+            Tag tag = tag(methodAnnotation, methodProperty);
+
+            swaggerApiRegistry.registerTag(tag);
+
+            //申请方法名，防止重名
+            String doMethodName = swaggerApiRegistry.allocateMethodName(beanName, method, clazz);
+
+            String methodToShow;
+            if (StringUtils.isNotBlank(pathSuffix)) {
+                methodToShow = doMethodName + "#" + pathSuffix;
+            } else {
+                methodToShow = doMethodName;
+            }
+
+            swaggerApiRegistry.registerTriggerMethod(doMethodName, methodProperty);
+
+            swaggerApiRegistry.registerSwaggerApiProperty(SwaggerApiProperty.newBuilder()
+                    .tag(tag.getName())
+                    .name(methodToShow)
+                    .beanName(beanName)
+                    .beanClazz(clazz)
+                    .methodProperty(methodProperty)
+                    //参数类型、返回值类型、@ApiOperation和描述都由method的享元描述延迟获取
+                    .method(method)
+                    .compositeParameterClazz(compositeParameterClazz)
+                    .build());
+
+        }
+    }
+
+    /**
+     * 是否延迟到所有bean创建完成后并行扫描,默认在@SwaggerScanner(deferredScan = true)时延迟
+     * 子类返回false时在创建bean的线程中立即扫描
+     *
+     * @return
+     */
+    protected boolean isDeferredScan() {
+        return swaggerApiRegistry.getDeferredScanStage() != null;
+    }
+
+    /**
+     * 获取类中标有注解且没有被@ApiIgnore忽略的方法,
+     * 不在注解索引中的类直接返回空,配置了扫描快照时优先使用快照
+     *
+     * @param methodAnnotationClazz
+     * @param clazz
+     * @return
+     */
+    private List<Method> annotatedMethods(Class<MA> methodAnnotationClazz, Class<?> clazz) {
+        SwaggerAnnotationIndex annotationIndex = swaggerApiRegistry.getAnnotationIndex();
+        if (annotationIndex != null && !annotationIndex.isCandidate(methodAnnotationClazz, clazz)) {
+            return Collections.emptyList();
+        }
+        SwaggerScanSnapshot scanSnapshot = swaggerApiRegistry.getScanSnapshot();
+        if (scanSnapshot == null) {
+            return scanAnnotatedMethods(methodAnnotationClazz, clazz);
+        }
+        return scanSnapshot.annotatedMethods(methodAnnotationClazz, clazz, this::scanAnnotatedMethods);
+    }
+
+    /**
+     * 反射遍历类中所有的方法
+     *
+     * @param methodAnnotationClazz
+     * @param clazz
+     * @return
+     */
+    private List<Method> scanAnnotatedMethods(Class<MA> methodAnnotationClazz, Class<?> clazz) {
+        List<Method> annotatedMethods = new ArrayList<>();
+        for (Method method : ReflectionUtils.getAllDeclaredMethods(clazz)) {
+
+            ApiIgnore methodApiIgnore = AnnotationUtils.findAnnotation(method, ApiIgnore.class);
+            //是否被忽略
+            if (methodApiIgnore != null) {
+                logger.info(" method: {} with @ApiIgnore is skipped by AbstractSwaggerBeanScanner .", method);
+                continue;
+            }
+
+            if (AnnotationUtils.findAnnotation(method, methodAnnotationClazz) != null) {
+                annotatedMethods.add(method);
+            }
+        }
+        return annotatedMethods;
+    }
+
+}
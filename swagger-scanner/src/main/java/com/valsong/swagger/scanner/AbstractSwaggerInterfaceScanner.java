@@ -1,11 +1,12 @@
 package com.valsong.swagger.scanner;
 
+import com.valsong.swagger.annotation.SwaggerCacheable;
+import com.valsong.swagger.model.CompositeParameterClazz;
 import com.valsong.swagger.model.MethodProperty;
 import com.valsong.swagger.model.SwaggerApiProperty;
-import com.valsong.swagger.support.SwaggerApiDescHelper;
+import com.valsong.swagger.support.SwaggerAnnotationIndex;
 import com.valsong.swagger.support.SwaggerApiRegistry;
-import com.valsong.swagger.util.SwaggerExampleClassBuilder;
-import io.swagger.annotations.ApiOperation;
+import com.valsong.swagger.support.SwaggerScanSnapshot;
 import javassist.util.proxy.ProxyObject;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -15,14 +16,17 @@ import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.util.ClassUtils;
 import org.springframework.util.ReflectionUtils;
 import springfox.documentation.annotations.ApiIgnore;
 import springfox.documentation.service.Tag;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
-import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 
 
@@ -38,6 +42,17 @@ public abstract class AbstractSwaggerInterfaceScanner<TA extends Annotation, MA
 
     private SwaggerApiRegistry swaggerApiRegistry;
 
+    /**
+     * 每个类中需要扫描的方法,没有时为空列表,同一个类只反射遍历一次
+     */
+    private final ClassValue<List<Method>> scannedMethods = new ClassValue<List<Method>>() {
+        @Override
+        protected List<Method> computeValue(Class<?> type) {
+            List<Method> methods = annotatedMethods(methodAnnotationClazz(), type);
+            return methods.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(methods);
+        }
+    };
+
     public AbstractSwaggerInterfaceScanner(SwaggerApiRegistry swaggerApiRegistry) {
         this.swaggerApiRegistry = swaggerApiRegistry;
     }
@@ -99,7 +114,11 @@ public abstract class AbstractSwaggerInterfaceScanner<TA extends Annotation, MA
 
         needScanBeans.forEach((beanName, bean) -> {
 
-            scan(typeAnnotationClazz, beanName, bean);
+            if (isDeferredScan()) {
+                swaggerApiRegistry.getDeferredScanStage().defer(() -> scan(typeAnnotationClazz, beanName, bean));
+            } else {
+                scan(typeAnnotationClazz, beanName, bean);
+            }
 
         });
     }
@@ -112,6 +131,14 @@ public abstract class AbstractSwaggerInterfaceScanner<TA extends Annotation, MA
      * @param bean
      */
     private void scan(Class<TA> typeAnnotationClazz, String beanName, Object bean) {
+        //同一个类的bean重新创建(如prototype bean)时只把已注册的方法指向新的实例,不重新扫描
+        if (swaggerApiRegistry.rebindBean(beanName, bean)) {
+            return;
+        }
+
+        //bean被重新创建时移除旧实例注册的方法
+        swaggerApiRegistry.replaceBean(beanName, bean);
+
         Class<?> beanClazz;
         //对于使用javassist生成的bean使用接口生成paramClass，防止泛型丢失
         if (bean instanceof ProxyObject) {
@@ -123,7 +150,8 @@ public abstract class AbstractSwaggerInterfaceScanner<TA extends Annotation, MA
                     .findFirst()
                     .orElse(bean.getClass());
         } else {
-            beanClazz = bean.getClass();
+            //CGLIB代理使用被代理的类,不扫描代理类生成的方法
+            beanClazz = ClassUtils.getUserClass(bean);
         }
 
         ApiIgnore apiIgnore = AnnotationUtils.findAnnotation(beanClazz, ApiIgnore.class);
@@ -142,27 +170,21 @@ public abstract class AbstractSwaggerInterfaceScanner<TA extends Annotation, MA
 
         final Class<MA> methodAnnotationClazz = methodAnnotationClazz();
 
-        Method[] methods = ReflectionUtils.getAllDeclaredMethods(beanClazz);
-
-        if (methods != null && methods.length > 0) {
+        List<Method> methods = scannedMethods.get(beanClazz);
+        if (!methods.isEmpty()) {
             for (Method method : methods) {
 
-                ApiIgnore methodApiIgnore = AnnotationUtils.findAnnotation(method, ApiIgnore.class);
-                //是否被忽略
-                if (methodApiIgnore != null) {
-                    logger.info(" method: {} with @ApiIgnore is skipped by AbstractSwaggerInterfaceScanner .", method);
-                    continue;
-                }
-
                 MA methodAnnotation = AnnotationUtils.findAnnotation(method, methodAnnotationClazz);
-                if (methodAnnotation == null) {
-                    continue;
-                }
 
-                Class<?> compositeParameterClazz = SwaggerExampleClassBuilder.build(method, beanClazz);
+                //参数class在springfox生成文档时才生成,被拒绝的方法不会生成
+                CompositeParameterClazz compositeParameterClazz = CompositeParameterClazz.lazy(method, beanClazz,
+                        swaggerApiRegistry.getExampleClassLoader());
 
                 MethodProperty methodProperty = new MethodProperty(beanName, bean, method, compositeParameterClazz);
 
+                //是否缓存返回值
+                methodProperty.setCacheable(AnnotationUtils.findAnnotation(method, SwaggerCacheable.class));
+
                 boolean isAccept = isAccept(methodAnnotation, methodProperty);
 
                 if (!isAccept) {
@@ -176,7 +198,7 @@ public abstract class AbstractSwaggerInterfaceScanner<TA extends Annotation, MA
                 swaggerApiRegistry.registerTag(tag);
 
                 //申请方法名，防止重名
-                String doMethodName = swaggerApiRegistry.allocateMethodName(beanName, method);
+                String doMethodName = swaggerApiRegistry.allocateMethodName(beanName, method, beanClazz);
 
                 String methodToShow;
                 if (StringUtils.isNotBlank(pathSuffix)) {
@@ -187,27 +209,15 @@ public abstract class AbstractSwaggerInterfaceScanner<TA extends Annotation, MA
 
                 swaggerApiRegistry.registerTriggerMethod(doMethodName, methodProperty);
 
-
-                Type returnType = method.getGenericReturnType();
-
-                //暂时只支持 value 、 notes 两个属性
-                ApiOperation apiOperation = AnnotationUtils.findAnnotation(method, ApiOperation.class);
-
-                String parameterDesc = SwaggerApiDescHelper.parameterDesc(method);
-
-                String returnDesc = SwaggerApiDescHelper.returnDesc(method);
-
                 swaggerApiRegistry.registerSwaggerApiProperty(SwaggerApiProperty.newBuilder()
                         .tag(tag.getName())
                         .name(methodToShow)
+                        .beanName(beanName)
                         .beanClazz(beanClazz)
+                        .methodProperty(methodProperty)
+                        //参数类型、返回值类型、@ApiOperation和描述都由method的享元描述延迟获取
                         .method(method)
-                        .genericParameterTypes(method.getGenericParameterTypes())
                         .compositeParameterClazz(compositeParameterClazz)
-                        .genericReturnType(returnType)
-                        .apiOperation(apiOperation)
-                        .parameterDesc(parameterDesc)
-                        .returnDesc(returnDesc)
                         .build());
 
             }
@@ -215,5 +225,59 @@ public abstract class AbstractSwaggerInterfaceScanner<TA extends Annotation, MA
         }
     }
 
+    /**
+     * 是否延迟到所有bean创建完成后并行扫描,默认在@SwaggerScanner(deferredScan = true)时延迟
+     * 子类返回false时在创建bean的线程中立即扫描
+     *
+     * @return
+     */
+    protected boolean isDeferredScan() {
+        return swaggerApiRegistry.getDeferredScanStage() != null;
+    }
+
+    /**
+     * 获取类中标有注解且没有被@ApiIgnore忽略的方法,
+     * 不在注解索引中的类直接返回空,配置了扫描快照时优先使用快照
+     *
+     * @param methodAnnotationClazz
+     * @param clazz
+     * @return
+     */
+    private List<Method> annotatedMethods(Class<MA> methodAnnotationClazz, Class<?> clazz) {
+        SwaggerAnnotationIndex annotationIndex = swaggerApiRegistry.getAnnotationIndex();
+        if (annotationIndex != null && !annotationIndex.isCandidate(methodAnnotationClazz, clazz)) {
+            return Collections.emptyList();
+        }
+        SwaggerScanSnapshot scanSnapshot = swaggerApiRegistry.getScanSnapshot();
+        if (scanSnapshot == null) {
+            return scanAnnotatedMethods(methodAnnotationClazz, clazz);
+        }
+        return scanSnapshot.annotatedMethods(methodAnnotationClazz, clazz, this::scanAnnotatedMethods);
+    }
+
+    /**
+     * 反射遍历类中所有的方法
+     *
+     * @param methodAnnotationClazz
+     * @param clazz
+     * @return
+     */
+    private List<Method> scanAnnotatedMethods(Class<MA> methodAnnotationClazz, Class<?> clazz) {
+        List<Method> annotatedMethods = new ArrayList<>();
+        for (Method method : ReflectionUtils.getAllDeclaredMethods(clazz)) {
+
+            ApiIgnore methodApiIgnore = AnnotationUtils.findAnnotation(method, ApiIgnore.class);
+            //是否被忽略
+            if (methodApiIgnore != null) {
+                logger.info(" method: {} with @ApiIgnore is skipped by AbstractSwaggerInterfaceScanner .", method);
+                continue;
+            }
+
+            if (AnnotationUtils.findAnnotation(method, methodAnnotationClazz) != null) {
+                annotatedMethods.add(method);
+            }
+        }
+        return annotatedMethods;
+    }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,89 @@
+package com.valsong.swagger.support;
+
+import com.valsong.swagger.model.MethodProperty;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 冻结后的页面触发的方法表,由{@link SwaggerApiRegistry#freeze()}生成,之后不再修改
+ * <p>
+ * 按endpointId保存在连续的数组中,按id查找只需要读取一次数组;
+ * 按名称查找使用不可变的HashMap,String的hashCode在第一次计算后缓存,不需要额外的哈希计算
+ *
+ * @author Val Song
+ */
+final class FrozenDispatchTable {
+
+    /**
+     * endpointId -> 方法
+     */
+    private final MethodProperty[] byId;
+
+    /**
+     * 方法名称 -> 方法
+     */
+    private final Map<String, MethodProperty> byName;
+
+    /**
+     * 方法名称 -> endpointId
+     */
+    private final Map<String, Integer> endpointIds;
+
+    FrozenDispatchTable(Map<String, MethodProperty> triggerMethods) {
+        int maxId = -1;
+        for (MethodProperty methodProperty : triggerMethods.values()) {
+            maxId = Math.max(maxId, methodProperty.getEndpointId());
+        }
+        this.byId = new MethodProperty[maxId + 1];
+        this.endpointIds = Collections.unmodifiableMap(endpointIds(triggerMethods, byId));
+        this.byName = new HashMap<>(triggerMethods);
+    }
+
+    /**
+     * 按名称查找
+     *
+     * @param methodName
+     * @return 不存在时返回null
+     */
+    MethodProperty get(String methodName) {
+        return methodName == null ? null : byName.get(methodName);
+    }
+
+    /**
+     * 按endpointId查找
+     *
+     * @param endpointId
+     * @return 不存在时返回null
+     */
+    MethodProperty get(int endpointId) {
+        return endpointId >= 0 && endpointId < byId.length ? byId[endpointId] : null;
+    }
+
+    Map<String, Integer> getEndpointIds() {
+        return endpointIds;
+    }
+
+    /**
+     * 按方法名称排序的endpointId
+     *
+     * @param triggerMethods
+     * @param byId           填入每个endpointId对应的方法,为null时不填入
+     * @return
+     */
+    static Map<String, Integer> endpointIds(Map<String, MethodProperty> triggerMethods, MethodProperty[] byId) {
+        Map<String, Integer> ids = new TreeMap<>();
+        triggerMethods.forEach((methodName, methodProperty) -> {
+            if (methodProperty.getEndpointId() >= 0) {
+                if (byId != null) {
+                    byId[methodProperty.getEndpointId()] = methodProperty;
+                }
+                ids.put(methodName, methodProperty.getEndpointId());
+            }
+        });
+        return ids;
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.valsong.swagger.support;
+
+/**
+ * 预先编译好的方法调用器，直接调用bean的方法，避免每次调用都走反射
+ *
+ * @author Val Song
+ */
+@FunctionalInterface
+public interface MethodInvoker {
+
+    /**
+     * 调用方法
+     *
+     * @param args 方法参数，顺序与方法声明一致
+     * @return 方法返回值，void方法返回null
+     * @throws Throwable 方法本身抛出的异常
+     */
+    Object invoke(Object[] args) throws Throwable;
+
+}
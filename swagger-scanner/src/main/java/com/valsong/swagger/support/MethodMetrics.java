@@ -0,0 +1,125 @@
+package com.valsong.swagger.support;
+
+import com.valsong.swagger.util.LongHistogram;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 单个页面触发的方法的调用统计
+ * <p>
+ * 只使用LongAdder和{@link LongHistogram},记录时不加锁;直方图的桶在第一次记录时分配
+ *
+ * @author Val Song
+ */
+public class MethodMetrics {
+
+    /**
+     * 字节数只需要粗略的分布,每个2的幂区间2个桶
+     */
+    private static final int BYTES_SUB_BUCKET_BITS = 1;
+
+    /**
+     * 调用耗时(纳秒),其中的数量即调用次数
+     */
+    private final LongHistogram latency = new LongHistogram();
+
+    /**
+     * 调用失败的次数
+     */
+    private final LongAdder errors = new LongAdder();
+
+    /**
+     * 开启single flight时共享了其他调用结果的次数
+     */
+    private final LongAdder shared = new LongAdder();
+
+    /**
+     * 请求体的字节数
+     */
+    private final LongHistogram requestBytes = new LongHistogram(BYTES_SUB_BUCKET_BITS);
+
+    /**
+     * 返回的Json的字节数
+     */
+    private final LongHistogram responseBytes = new LongHistogram(BYTES_SUB_BUCKET_BITS);
+
+    /**
+     * 返回值缓存,用于统计命中率,不可缓存时为null
+     */
+    private final SwaggerResultCache resultCache;
+
+    public MethodMetrics() {
+        this(null);
+    }
+
+    public MethodMetrics(SwaggerResultCache resultCache) {
+        this.resultCache = resultCache;
+    }
+
+    /**
+     * 记录一次调用
+     *
+     * @param nanos   耗时
+     * @param success 是否成功
+     */
+    public void recordInvocation(long nanos, boolean success) {
+        latency.record(nanos);
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    /**
+     * 记录一次共享了其他调用结果的调用
+     */
+    public void recordShared() {
+        shared.increment();
+    }
+
+    /**
+     * 记录请求体的字节数
+     *
+     * @param bytes
+     */
+    public void recordRequestBytes(long bytes) {
+        requestBytes.record(bytes);
+    }
+
+    /**
+     * 记录返回的Json的字节数
+     *
+     * @param bytes
+     */
+    public void recordResponseBytes(long bytes) {
+        responseBytes.record(bytes);
+    }
+
+    public long getCalls() {
+        return latency.getCount();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public long getShared() {
+        return shared.sum();
+    }
+
+    public LongHistogram getLatency() {
+        return latency;
+    }
+
+    public LongHistogram getRequestBytes() {
+        return requestBytes;
+    }
+
+    public LongHistogram getResponseBytes() {
+        return responseBytes;
+    }
+
+    public SwaggerResultCache getResultCache() {
+        return resultCache;
+    }
+
+}
@@ -0,0 +1,709 @@
+package com.valsong.swagger.support;
+
+import com.valsong.swagger.model.MethodProperty;
+import com.valsong.swagger.model.SwaggerApiProperty;
+import com.valsong.swagger.util.MethodInvokerBuilder;
+import com.valsong.swagger.util.MethodOverloadIndex;
+import com.valsong.swagger.util.SwaggerExampleClassLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.ClassUtils;
+import springfox.documentation.schema.Model;
+import springfox.documentation.service.ApiDescription;
+import springfox.documentation.service.Tag;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * SimpleSwaggerRegistry
+ * <p>
+ * 注册写入并发容器,读取时使用注册内容的不可变副本;每一部分(方法、ApiDescription、Model、Tag、每个Docket分组)
+ * 单独复制,只在该部分有新的注册后的第一次读取时重新复制,其他部分的注册不影响;
+ * 调用时按名称查找方法直接读取并发容器,不需要加锁和复制
+ *
+ * @author Val Song
+ * @date 2018/10/18
+ * @since 1.0.0
+ */
+public class SimpleSwaggerApiRegistry implements SwaggerApiRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(SimpleSwaggerApiRegistry.class);
+
+    /**
+     * SWAGGER_PROPERTIES
+     */
+    private final Queue<SwaggerApiProperty> swaggerApiProperties = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Docket分组 -> 该分组的SwaggerApiProperty
+     */
+    private final Map<String, Queue<SwaggerApiProperty>> groupSwaggerApiProperties = new ConcurrentHashMap<>();
+
+    /**
+     * swagger页面所需要的参数ApiDescription
+     */
+    private final Queue<ApiDescription> apiDescriptions = new ConcurrentLinkedQueue<>();
+
+
+    /**
+     * swagger页面所需要的参数Model
+     */
+    private final Map<String, Model> models = new ConcurrentHashMap<>();
+
+    /**
+     * Docket分组 -> 该分组的Model
+     */
+    private final Map<String, Map<String, Model>> groupModels = new ConcurrentHashMap<>();
+
+    /**
+     * Docket分组 -> Model名称 -> 使用该Model的SwaggerApiProperty,用于移除不再使用的Model
+     */
+    private final Map<String, Map<String, Set<SwaggerApiProperty>>> modelOwners = new HashMap<>();
+
+
+    /**
+     * swagger页面所需要的参数Model
+     */
+    private final Set<Tag> tags = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 通过页面触发的方法
+     */
+    private final Map<String, MethodProperty> triggerMethods = new ConcurrentHashMap<>();
+
+    private final Published<List<SwaggerApiProperty>> publishedSwaggerApiProperties =
+            new Published<>(() -> Collections.unmodifiableList(new ArrayList<>(swaggerApiProperties)));
+
+    private final Published<List<ApiDescription>> publishedApiDescriptions =
+            new Published<>(() -> Collections.unmodifiableList(new ArrayList<>(apiDescriptions)));
+
+    private final Published<Map<String, Model>> publishedModels =
+            new Published<>(() -> Collections.unmodifiableMap(new HashMap<>(models)));
+
+    private final Published<Set<Tag>> publishedTags =
+            new Published<>(() -> Collections.unmodifiableSet(new LinkedHashSet<>(tags)));
+
+    /**
+     * 冻结的方法表在freeze()时从这里复制,注册Model、Tag等不影响方法表
+     */
+    private final Published<Map<String, MethodProperty>> publishedTriggerMethods =
+            new Published<>(() -> Collections.unmodifiableMap(new HashMap<>(triggerMethods)));
+
+    /**
+     * Docket分组 -> 该分组的内容
+     */
+    private final Map<String, Published<GroupPartition>> publishedGroups = new ConcurrentHashMap<>();
+
+    /**
+     * 下一个endpointId
+     */
+    private final AtomicInteger nextEndpointId = new AtomicInteger();
+
+    /**
+     * 方法名称 -> endpointId,移除方法后保留,使重新注册的方法的endpointId保持不变
+     */
+    private final Map<String, Integer> endpointIds = new ConcurrentHashMap<>();
+
+    /**
+     * 冻结后的方法表,未冻结或者冻结后注册、移除了方法时为null,直到下一次冻结
+     */
+    private volatile FrozenDispatchTable dispatchTable;
+
+    /**
+     * 方法的调用统计
+     */
+    private final SwaggerInvokeMetrics invokeMetrics;
+
+    /**
+     * 扫描结果快照,没有配置时为null
+     */
+    private final SwaggerScanSnapshot scanSnapshot;
+
+    /**
+     * 将方法分配到Docket分组
+     */
+    private final SwaggerDocketRouter docketRouter;
+
+    /**
+     * 延迟的扫描阶段,没有开启时为null
+     */
+    private final SwaggerDeferredScanStage deferredScanStage;
+
+    /**
+     * 编译时生成的注解索引,没有开启或者没有索引时为null
+     */
+    private final SwaggerAnnotationIndex annotationIndex;
+
+    /**
+     * 参数class的磁盘缓存,没有配置时为null
+     */
+    private final SwaggerExampleClassCache exampleClassCache;
+
+    /**
+     * 定义生成的参数class的classLoader,关闭后为null,之后生成的class使用默认的classLoader
+     */
+    private volatile SwaggerExampleClassLoader exampleClassLoader;
+
+    public SimpleSwaggerApiRegistry() {
+        this(new SwaggerInvokeMetrics());
+    }
+
+    public SimpleSwaggerApiRegistry(SwaggerInvokeMetrics invokeMetrics) {
+        this(invokeMetrics, null);
+    }
+
+    public SimpleSwaggerApiRegistry(SwaggerInvokeMetrics invokeMetrics, SwaggerScanSnapshot scanSnapshot) {
+        this(invokeMetrics, scanSnapshot, SwaggerDocketRouter.SINGLE);
+    }
+
+    public SimpleSwaggerApiRegistry(SwaggerInvokeMetrics invokeMetrics, SwaggerScanSnapshot scanSnapshot,
+                                    SwaggerDocketRouter docketRouter) {
+        this(invokeMetrics, scanSnapshot, docketRouter, null);
+    }
+
+    public SimpleSwaggerApiRegistry(SwaggerInvokeMetrics invokeMetrics, SwaggerScanSnapshot scanSnapshot,
+                                    SwaggerDocketRouter docketRouter, SwaggerDeferredScanStage deferredScanStage) {
+        this(invokeMetrics, scanSnapshot, docketRouter, deferredScanStage, null);
+    }
+
+    public SimpleSwaggerApiRegistry(SwaggerInvokeMetrics invokeMetrics, SwaggerScanSnapshot scanSnapshot,
+                                    SwaggerDocketRouter docketRouter, SwaggerDeferredScanStage deferredScanStage,
+                                    SwaggerAnnotationIndex annotationIndex) {
+        this(invokeMetrics, scanSnapshot, docketRouter, deferredScanStage, annotationIndex, null);
+    }
+
+    public SimpleSwaggerApiRegistry(SwaggerInvokeMetrics invokeMetrics, SwaggerScanSnapshot scanSnapshot,
+                                    SwaggerDocketRouter docketRouter, SwaggerDeferredScanStage deferredScanStage,
+                                    SwaggerAnnotationIndex annotationIndex,
+                                    SwaggerExampleClassCache exampleClassCache) {
+        this.invokeMetrics = invokeMetrics;
+        this.scanSnapshot = scanSnapshot;
+        this.docketRouter = docketRouter;
+        this.deferredScanStage = deferredScanStage;
+        this.annotationIndex = annotationIndex;
+        this.exampleClassCache = exampleClassCache;
+        //parent需要能够加载方法参数的类型,使用创建registry时的线程上下文classLoader(如devtools的RestartClassLoader)
+        this.exampleClassLoader = new SwaggerExampleClassLoader(ClassUtils.getDefaultClassLoader(),
+                exampleClassCache);
+    }
+
+    @Override
+    public SwaggerScanSnapshot getScanSnapshot() {
+        return scanSnapshot;
+    }
+
+    @Override
+    public SwaggerDeferredScanStage getDeferredScanStage() {
+        return deferredScanStage;
+    }
+
+    @Override
+    public SwaggerAnnotationIndex getAnnotationIndex() {
+        return annotationIndex;
+    }
+
+    @Override
+    public SwaggerExampleClassCache getExampleClassCache() {
+        return exampleClassCache;
+    }
+
+    @Override
+    public SwaggerExampleClassLoader getExampleClassLoader() {
+        return exampleClassLoader;
+    }
+
+    @Override
+    public void close() {
+        SwaggerExampleClassLoader current = exampleClassLoader;
+        if (current == null) {
+            return;
+        }
+        exampleClassLoader = null;
+        logger.info("swagger api registry closed, {} generated example classes released.", current.size());
+        current.clear();
+
+        //注册的方法、ApiDescription和Model都引用了生成的class,一起释放
+        synchronized (this) {
+            triggerMethods.clear();
+            swaggerApiProperties.clear();
+            groupSwaggerApiProperties.clear();
+            apiDescriptions.clear();
+            models.clear();
+            groupModels.clear();
+            synchronized (modelOwners) {
+                modelOwners.clear();
+            }
+            tags.clear();
+            dispatchTable = null;
+            publishedTriggerMethods.clear();
+            publishedSwaggerApiProperties.clear();
+            publishedApiDescriptions.clear();
+            publishedModels.clear();
+            publishedTags.clear();
+            publishedGroups.values().forEach(Published::clear);
+            publishedGroups.clear();
+        }
+    }
+
+    @Override
+    public String allocateMethodName(String beanName, Method method, Class<?> beanClazz) {
+        String beanMethodName = beanName + "." + method.getName();
+        //第一个方法不加序号,之后的重载方法依次为 (2) (3) ...
+        int ordinal = MethodOverloadIndex.ordinal(method, beanClazz);
+        if (ordinal != 0) {
+            beanMethodName = beanMethodName + "(" + (ordinal + 1) + ")";
+        }
+        return beanMethodName;
+    }
+
+    @Override
+    public void registerSwaggerApiProperty(SwaggerApiProperty swaggerProperty) {
+        if (swaggerProperty.getGroup() == null) {
+            swaggerProperty.setGroup(docketRouter.route(swaggerProperty));
+        }
+        swaggerApiProperties.add(swaggerProperty);
+        groupSwaggerApiProperties.computeIfAbsent(swaggerProperty.getGroup(), key -> new ConcurrentLinkedQueue<>())
+                .add(swaggerProperty);
+        publishedSwaggerApiProperties.changed();
+        publishedGroup(swaggerProperty.getGroup()).changed();
+    }
+
+    @Override
+    public List<SwaggerApiProperty> getAllSwaggerApiProperties() {
+        return publishedSwaggerApiProperties.get();
+    }
+
+    @Override
+    public List<SwaggerApiProperty> getSwaggerApiProperties(String group) {
+        return publishedGroup(group).get().swaggerApiProperties;
+    }
+
+    @Override
+    public void registerApiDescription(ApiDescription apiDescription) {
+        apiDescriptions.add(apiDescription);
+        publishedApiDescriptions.changed();
+    }
+
+    @Override
+    public List<ApiDescription> getAllApiDescriptions() {
+        return publishedApiDescriptions.get();
+    }
+
+    @Override
+    public void registerModels(Map<String, Model> modelMap) {
+        models.putAll(modelMap);
+        publishedModels.changed();
+    }
+
+    @Override
+    public Map<String, Model> getModels() {
+        return publishedModels.get();
+    }
+
+    @Override
+    public void registerModels(String group, Map<String, Model> modelMap) {
+        groupModels.computeIfAbsent(group, key -> new ConcurrentHashMap<>()).putAll(modelMap);
+        publishedGroup(group).changed();
+        registerModels(modelMap);
+    }
+
+    @Override
+    public void registerModels(String group, SwaggerApiProperty owner, Map<String, Model> modelMap) {
+        synchronized (modelOwners) {
+            Map<String, Set<SwaggerApiProperty>> owners = modelOwners.computeIfAbsent(group, key -> new HashMap<>());
+            modelMap.keySet().forEach(name -> owners.computeIfAbsent(name,
+                    key -> Collections.newSetFromMap(new IdentityHashMap<>())).add(owner));
+            registerModels(group, modelMap);
+        }
+    }
+
+    @Override
+    public Map<String, Model> getModels(String group) {
+        return publishedGroup(group).get().models;
+    }
+
+    @Override
+    public void registerTriggerMethod(String methodName, MethodProperty methodProperty) {
+        //注册时生成调用器，避免每次调用都走反射
+        if (methodProperty.getInvoker() == null) {
+            methodProperty.setInvoker(MethodInvokerBuilder.build(methodProperty.getInstance(),
+                    methodProperty.getMethod()));
+        }
+        if (methodProperty.getParameterBinder() == null) {
+            methodProperty.setParameterBinder(SwaggerParameterBinder.build(methodProperty.getMethod()));
+        }
+        //重新注册时按新的@SwaggerCacheable创建缓存,ttl、maxSize的修改随之生效
+        if (methodProperty.getResultCache() == null && methodProperty.getCacheable() != null) {
+            methodProperty.setResultCache(SwaggerResultCache.of(methodProperty.getCacheable()));
+        }
+        if (methodProperty.getMetrics() == null) {
+            methodProperty.setMetrics(invokeMetrics.register(methodName, methodProperty.getResultCache()));
+        }
+        //同名方法重新注册时(包括移除后再注册)沿用原来的endpointId
+        methodProperty.setMethodName(methodName);
+        methodProperty.setEndpointId(endpointIds.computeIfAbsent(methodName,
+                name -> nextEndpointId.getAndIncrement()));
+        triggerMethods.put(methodName, methodProperty);
+        publishedTriggerMethods.changed();
+        unfreeze();
+    }
+
+
+    @Override
+    public MethodProperty getTriggerMethod(String methodName) {
+        FrozenDispatchTable table = dispatchTable;
+        if (table != null) {
+            return table.get(methodName);
+        }
+        return triggerMethods.get(methodName);
+    }
+
+    @Override
+    public Map<String, MethodProperty> getAllTriggerMethods() {
+        return publishedTriggerMethods.get();
+    }
+
+    @Override
+    public void removeByBeanName(String beanName) {
+        removeIf(beanName, instance -> true);
+    }
+
+    @Override
+    public void removeBean(String beanName, Object bean) {
+        removeIf(beanName, instance -> instance == bean);
+    }
+
+    @Override
+    public void replaceBean(String beanName, Object bean) {
+        removeIf(beanName, instance -> instance != bean);
+    }
+
+    @Override
+    public boolean rebindBean(String beanName, Object bean) {
+        List<MethodProperty> registered = new ArrayList<>();
+        for (MethodProperty methodProperty : triggerMethods.values()) {
+            if (beanName.equals(methodProperty.getBeanName())) {
+                //类不同时注解和方法可能不同,需要重新扫描
+                if (methodProperty.getInstance() == null
+                        || methodProperty.getInstance().getClass() != bean.getClass()) {
+                    return false;
+                }
+                registered.add(methodProperty);
+            }
+        }
+        if (registered.isEmpty()) {
+            return false;
+        }
+        for (MethodProperty methodProperty : registered) {
+            if (methodProperty.getInstance() == bean) {
+                continue;
+            }
+            //调用器绑定了实例,和实例一起替换
+            methodProperty.setInvoker(MethodInvokerBuilder.build(bean, methodProperty.getMethod()));
+            methodProperty.setInstance(bean);
+            //缓存的是旧实例的返回值
+            if (methodProperty.getResultCache() != null) {
+                methodProperty.getResultCache().clear();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 移除bean注册的方法及其调用统计,以及该实例的SwaggerApiProperty和不再被使用的Model、Tag,
+     * 其他实例的同名bean注册的内容不受影响
+     *
+     * @param beanName
+     * @param stale    判断实例是否需要移除
+     */
+    private void removeIf(String beanName, Predicate<Object> stale) {
+        boolean removed = false;
+        Iterator<MethodProperty> iterator = triggerMethods.values().iterator();
+        while (iterator.hasNext()) {
+            MethodProperty methodProperty = iterator.next();
+            if (beanName.equals(methodProperty.getBeanName()) && stale.test(methodProperty.getInstance())) {
+                iterator.remove();
+                //缓存的是旧实例的返回值
+                if (methodProperty.getResultCache() != null) {
+                    methodProperty.getResultCache().clear();
+                }
+                invokeMetrics.remove(methodProperty.getMethodName(), methodProperty.getMetrics());
+                removed = true;
+            }
+        }
+        if (!removed) {
+            return;
+        }
+        //没有关联MethodProperty的SwaggerApiProperty只能按bean名称判断
+        Set<SwaggerApiProperty> removedProperties = Collections.newSetFromMap(new IdentityHashMap<>());
+        swaggerApiProperties.removeIf(swaggerApiProperty -> beanName.equals(swaggerApiProperty.getBeanName())
+                && (swaggerApiProperty.getMethodProperty() == null
+                || stale.test(swaggerApiProperty.getMethodProperty().getInstance()))
+                && removedProperties.add(swaggerApiProperty));
+        groupSwaggerApiProperties.forEach((group, properties) -> {
+            if (properties.removeIf(removedProperties::contains)) {
+                publishedGroup(group).changed();
+            }
+        });
+        removeUnusedModels(removedProperties);
+        removeUnusedTags(removedProperties);
+        publishedSwaggerApiProperties.changed();
+        publishedTriggerMethods.changed();
+        unfreeze();
+    }
+
+    /**
+     * 移除只被已移除的SwaggerApiProperty使用的Model,所有分组都不再使用的Model同时从全部Model中移除
+     *
+     * @param removedProperties
+     */
+    private void removeUnusedModels(Set<SwaggerApiProperty> removedProperties) {
+        synchronized (modelOwners) {
+            Set<String> removedNames = new HashSet<>();
+            modelOwners.forEach((group, owners) -> {
+                Iterator<Map.Entry<String, Set<SwaggerApiProperty>>> iterator = owners.entrySet().iterator();
+                while (iterator.hasNext()) {
+                    Map.Entry<String, Set<SwaggerApiProperty>> entry = iterator.next();
+                    if (!entry.getValue().removeIf(removedProperties::contains) || !entry.getValue().isEmpty()) {
+                        continue;
+                    }
+                    iterator.remove();
+                    Map<String, Model> modelsOfGroup = groupModels.get(group);
+                    if (modelsOfGroup != null && modelsOfGroup.remove(entry.getKey()) != null) {
+                        publishedGroup(group).changed();
+                        removedNames.add(entry.getKey());
+                    }
+                }
+            });
+            if (removedNames.isEmpty()) {
+                return;
+            }
+            removedNames.removeIf(name -> groupModels.values().stream()
+                    .anyMatch(modelsOfGroup -> modelsOfGroup.containsKey(name)));
+            if (models.keySet().removeAll(removedNames)) {
+                publishedModels.changed();
+            }
+        }
+    }
+
+    /**
+     * 移除已移除的SwaggerApiProperty使用的、不再被其他SwaggerApiProperty使用的Tag
+     *
+     * @param removedProperties
+     */
+    private void removeUnusedTags(Set<SwaggerApiProperty> removedProperties) {
+        Set<String> removedNames = new HashSet<>();
+        removedProperties.forEach(swaggerApiProperty -> removedNames.add(swaggerApiProperty.getTag()));
+        swaggerApiProperties.forEach(swaggerApiProperty -> removedNames.remove(swaggerApiProperty.getTag()));
+        if (tags.removeIf(tag -> removedNames.contains(tag.getName()))) {
+            tagsChanged();
+        }
+    }
+
+    @Override
+    public MethodProperty getTriggerMethod(int endpointId) {
+        FrozenDispatchTable table = dispatchTable;
+        if (table != null) {
+            return table.get(endpointId);
+        }
+        //未冻结时只在启动和重新加载期间查找,不为此维护索引
+        for (MethodProperty methodProperty : triggerMethods.values()) {
+            if (methodProperty.getEndpointId() == endpointId) {
+                return methodProperty;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Map<String, Integer> getEndpointIds() {
+        FrozenDispatchTable table = dispatchTable;
+        if (table != null) {
+            return table.getEndpointIds();
+        }
+        return Collections.unmodifiableMap(FrozenDispatchTable.endpointIds(publishedTriggerMethods.get(), null));
+    }
+
+    /**
+     * 生成新的方法表,只在显式调用时生成,查找和注册都不会生成
+     */
+    @Override
+    public void freeze() {
+        synchronized (this) {
+            dispatchTable = new FrozenDispatchTable(publishedTriggerMethods.get());
+        }
+    }
+
+    /**
+     * 注册或者移除方法后丢弃冻结的方法表,与freeze()互斥,freeze()复制之后的修改一定会丢弃它生成的方法表
+     */
+    private void unfreeze() {
+        if (dispatchTable == null) {
+            return;
+        }
+        synchronized (this) {
+            dispatchTable = null;
+        }
+    }
+
+    @Override
+    public void registerTag(Tag tag) {
+        if (tags.add(tag)) {
+            tagsChanged();
+        }
+    }
+
+    @Override
+    public void registerTag(Set<Tag> tags) {
+        if (this.tags.addAll(tags)) {
+            tagsChanged();
+        }
+    }
+
+    /**
+     * 分组只包括该分组使用的tag,新的tag可能属于任何一个分组
+     */
+    private void tagsChanged() {
+        publishedTags.changed();
+        publishedGroups.values().forEach(Published::changed);
+    }
+
+    @Override
+    public Set<Tag> getAllTags() {
+        return publishedTags.get();
+    }
+
+    @Override
+    public Set<Tag> getTags(String group) {
+        return publishedGroup(group).get().tags;
+    }
+
+    @Override
+    public Set<String> getGroups() {
+        return docketRouter.getGroups();
+    }
+
+    /**
+     * 分组的内容,只复制该分组的SwaggerApiProperty和Model
+     *
+     * @param group
+     * @return
+     */
+    private Published<GroupPartition> publishedGroup(String group) {
+        return publishedGroups.computeIfAbsent(group, key -> new Published<>(() -> {
+            Queue<SwaggerApiProperty> properties = groupSwaggerApiProperties.get(key);
+            return new GroupPartition(properties == null ? Collections.emptyList() : properties,
+                    groupModels.get(key), tags);
+        }));
+    }
+
+    /**
+     * 一部分注册内容的不可变副本,该部分有新的注册后在下一次读取时重新复制,没有新的注册时读取不加锁
+     *
+     * @param <T>
+     */
+    private static final class Published<T> {
+
+        /**
+         * 该部分每次注册后递增
+         */
+        private final AtomicLong version = new AtomicLong();
+
+        private final Supplier<T> copier;
+
+        private volatile Copy<T> copy;
+
+        Published(Supplier<T> copier) {
+            this.copier = copier;
+        }
+
+        /**
+         * 在修改注册内容之后调用
+         */
+        void changed() {
+            version.incrementAndGet();
+        }
+
+        /**
+         * 注册内容清空后丢弃副本
+         */
+        synchronized void clear() {
+            copy = null;
+            version.incrementAndGet();
+        }
+
+        T get() {
+            Copy<T> current = copy;
+            if (current != null && current.version == version.get()) {
+                return current.value;
+            }
+            synchronized (this) {
+                //先读取版本再复制,副本中至少包含该版本之前的所有注册
+                long latest = version.get();
+                current = copy;
+                if (current == null || current.version != latest) {
+                    current = new Copy<>(latest, copier.get());
+                    copy = current;
+                }
+                return current.value;
+            }
+        }
+    }
+
+    private static final class Copy<T> {
+
+        private final long version;
+
+        private final T value;
+
+        Copy(long version, T value) {
+            this.version = version;
+            this.value = value;
+        }
+    }
+
+    /**
+     * 一个Docket分组的内容
+     */
+    private static final class GroupPartition {
+
+        private final List<SwaggerApiProperty> swaggerApiProperties;
+
+        private final Map<String, Model> models;
+
+        /**
+         * 只包括该分组的方法使用的tag
+         */
+        private final Set<Tag> tags;
+
+        GroupPartition(Collection<SwaggerApiProperty> swaggerApiProperties, Map<String, Model> models,
+                       Set<Tag> allTags) {
+            this.swaggerApiProperties = Collections.unmodifiableList(new ArrayList<>(swaggerApiProperties));
+            this.models = models == null ? Collections.emptyMap() : Collections.unmodifiableMap(new HashMap<>(models));
+            Set<String> tagNames = new HashSet<>();
+            swaggerApiProperties.forEach(swaggerApiProperty -> tagNames.add(swaggerApiProperty.getTag()));
+            Set<Tag> groupTags = new LinkedHashSet<>();
+            allTags.stream().filter(tag -> tagNames.contains(tag.getName())).forEach(groupTags::add);
+            this.tags = Collections.unmodifiableSet(groupTags);
+        }
+    }
+
+}
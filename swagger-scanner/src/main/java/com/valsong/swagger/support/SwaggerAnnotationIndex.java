@@ -0,0 +1,164 @@
+package com.valsong.swagger.support;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.AnnotationUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import static com.valsong.swagger.constant.SwaggerScannerConstants.ANNOTATION_INDEX_LOCATION;
+
+/**
+ * 编译时由swagger-scanner-processor生成的注解索引
+ * <p>
+ * 按所在的jar或者目录分别读取classpath中的 META-INF/swagger-scanner.index,记录声明了标有指定注解的方法的类;
+ * 索引只对同一个jar或者目录中的类有效,没有使用processor构建的jar中的类仍然反射查找;
+ * 类及其所有父类、接口中都没有标有注解的方法时,scanner不再反射遍历该类的方法
+ *
+ * @author Val Song
+ */
+public class SwaggerAnnotationIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(SwaggerAnnotationIndex.class);
+
+    private static final String CLASS_FILE_SUFFIX = ".class";
+
+    /**
+     * jar或者目录的根路径 -> (类 -> 方法上标有的注解)
+     */
+    private final Map<String, Map<String, Set<String>>> indexes;
+
+    private SwaggerAnnotationIndex(Map<String, Map<String, Set<String>>> indexes) {
+        this.indexes = indexes;
+    }
+
+    /**
+     * 读取classpath中所有的索引
+     *
+     * @param classLoader
+     * @return classpath中没有索引时返回null
+     */
+    public static SwaggerAnnotationIndex load(ClassLoader classLoader) {
+        Map<String, Map<String, Set<String>>> indexes = new HashMap<>();
+        try {
+            Enumeration<URL> urls = classLoader.getResources(ANNOTATION_INDEX_LOCATION);
+            while (urls.hasMoreElements()) {
+                URL url = urls.nextElement();
+                String root = root(url, ANNOTATION_INDEX_LOCATION);
+                if (root == null) {
+                    continue;
+                }
+                Properties properties = new Properties();
+                try (InputStream inputStream = url.openStream()) {
+                    properties.load(inputStream);
+                }
+                Map<String, Set<String>> index = indexes.computeIfAbsent(root, key -> new HashMap<>());
+                properties.stringPropertyNames().forEach(type -> index
+                        .computeIfAbsent(type, key -> new HashSet<>())
+                        .addAll(Arrays.asList(properties.getProperty(type).split(","))));
+            }
+        } catch (IOException e) {
+            logger.warn("swagger annotation index load failed, all classes will be scanned.", e);
+            return null;
+        }
+        if (indexes.isEmpty()) {
+            logger.info("no swagger annotation index found in classpath, all classes will be scanned.");
+            return null;
+        }
+        logger.info("swagger annotation index loaded, {} classes in {}.",
+                indexes.values().stream().mapToInt(Map::size).sum(), indexes.keySet());
+        return new SwaggerAnnotationIndex(indexes);
+    }
+
+    /**
+     * 类或者其父类、接口中是否有标有指定注解的方法
+     * <p>
+     * 所在的jar或者目录有索引的类按索引判断,没有索引的类反射查找其声明的方法
+     *
+     * @param annotationClazz
+     * @param clazz
+     * @return
+     */
+    public boolean isCandidate(Class<? extends Annotation> annotationClazz, Class<?> clazz) {
+        return isCandidate(annotationClazz, clazz, new HashSet<>());
+    }
+
+    private boolean isCandidate(Class<? extends Annotation> annotationClazz, Class<?> clazz, Set<Class<?>> visited) {
+        if (clazz == null || clazz == Object.class || !visited.add(clazz)) {
+            return false;
+        }
+        if (declaresAnnotatedMethod(annotationClazz, clazz)) {
+            return true;
+        }
+        if (isCandidate(annotationClazz, clazz.getSuperclass(), visited)) {
+            return true;
+        }
+        for (Class<?> type : clazz.getInterfaces()) {
+            if (isCandidate(annotationClazz, type, visited)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 类本身是否声明了标有指定注解的方法
+     *
+     * @param annotationClazz
+     * @param clazz
+     * @return
+     */
+    private boolean declaresAnnotatedMethod(Class<? extends Annotation> annotationClazz, Class<?> clazz) {
+        ClassLoader classLoader = clazz.getClassLoader();
+        //jdk中的类
+        if (classLoader == null) {
+            return false;
+        }
+        String classFile = clazz.getName().replace('.', '/') + CLASS_FILE_SUFFIX;
+        URL url = classLoader.getResource(classFile);
+        //运行时生成的类(如cglib代理)没有class文件,注解在其父类上
+        if (url == null) {
+            return false;
+        }
+        Map<String, Set<String>> index = indexes.get(root(url, classFile));
+        if (index != null) {
+            return index.getOrDefault(clazz.getName(), Collections.emptySet()).contains(annotationClazz.getName());
+        }
+        try {
+            for (Method method : clazz.getDeclaredMethods()) {
+                if (AnnotationUtils.getAnnotation(method, annotationClazz) != null) {
+                    return true;
+                }
+            }
+            return false;
+        } catch (LinkageError e) {
+            //无法判断时交给scanner处理
+            return true;
+        }
+    }
+
+    /**
+     * 资源所在的jar或者目录的根路径
+     *
+     * @param url
+     * @param location 资源在jar或者目录中的路径
+     * @return
+     */
+    private static String root(URL url, String location) {
+        String path = url.toString();
+        return path.endsWith(location) ? path.substring(0, path.length() - location.length()) : null;
+    }
+
+}
@@ -37,9 +37,11 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import static com.valsong.swagger.constant.SwaggerScannerConstants.ACCESS;
@@ -52,12 +54,17 @@ import static com.valsong.swagger.constant.SwaggerScannerConstants.PATH_PREFIX;
 
 /**
  * 手动添加ApiDescriptions到Swagger
+ * <p>
+ * 每个Docket只解析和展示分配到其分组的方法
  *
  * @author: Val Song
  */
 public class SwaggerApiDescriptionProvider implements ApiListingScannerPlugin {
 
-    private Docket docket;
+    /**
+     * Docket分组 -> Docket
+     */
+    private Map<String, Docket> dockets;
 
     private ModelProvider modelProvider;
 
@@ -67,12 +74,25 @@ public class SwaggerApiDescriptionProvider implements ApiListingScannerPlugin {
 
     private SwaggerApiRegistry swaggerApiRegistry;
 
+    /**
+     * 每个Docket分组已经解析过的SwaggerApiProperty对应的ApiDescription,只有新注册的SwaggerApiProperty需要重新解析
+     */
+    private final Map<String, Map<SwaggerApiProperty, ApiDescription>> resolved = new ConcurrentHashMap<>();
+
     public SwaggerApiDescriptionProvider(SwaggerApiRegistry swaggerApiRegistry,
                                          Docket docket,
                                          TypeResolver typeResolver,
                                          TypeNameExtractor typeNameExtractor, ModelProvider modelProvider) {
+        this(swaggerApiRegistry, Collections.singletonMap(SwaggerDocketRouter.DEFAULT_GROUP, docket), typeResolver,
+                typeNameExtractor, modelProvider);
+    }
+
+    public SwaggerApiDescriptionProvider(SwaggerApiRegistry swaggerApiRegistry,
+                                         Map<String, Docket> dockets,
+                                         TypeResolver typeResolver,
+                                         TypeNameExtractor typeNameExtractor, ModelProvider modelProvider) {
         this.swaggerApiRegistry = swaggerApiRegistry;
-        this.docket = docket;
+        this.dockets = dockets;
         this.typeResolver = typeResolver;
         this.typeNameExtractor = typeNameExtractor;
         this.modelProvider = modelProvider;
@@ -80,48 +100,74 @@ public class SwaggerApiDescriptionProvider implements ApiListingScannerPlugin {
 
     @Override
     public List<ApiDescription> apply(DocumentationContext documentationContext) {
-        //只为指定的docket提供
-        if (docket.getGroupName().equals(documentationContext.getGroupName())) {
+        //只为指定的docket提供,每个docket只提供其分组的方法
+        for (Map.Entry<String, Docket> entry : dockets.entrySet()) {
+            Docket docket = entry.getValue();
+            if (docket.getGroupName().equals(documentationContext.getGroupName())) {
+                return apply(documentationContext, entry.getKey(), docket);
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * 解析一个Docket分组的ApiDescription
+     *
+     * @param documentationContext
+     * @param group
+     * @param docket
+     * @return
+     */
+    private List<ApiDescription> apply(DocumentationContext documentationContext, String group, Docket docket) {
+        Set<Tag> tags = swaggerApiRegistry.getTags(group);
+        //添加tags到docket
+        tags.forEach(docket::tags);
+
+        List<SwaggerApiProperty> swaggerApiProperties = swaggerApiRegistry.getSwaggerApiProperties(group);
+
+        List<ApiDescription> apiDescriptions = new ArrayList<>();
 
-            Set<Tag> tags = swaggerApiRegistry.getAllTags();
-            //添加tags到docket
-            tags.forEach(docket::tags);
+        //只保留仍然注册的SwaggerApiProperty,已经移除的随之丢弃
+        Map<SwaggerApiProperty, ApiDescription> previous = resolved.getOrDefault(group, Collections.emptyMap());
+        Map<SwaggerApiProperty, ApiDescription> current = new IdentityHashMap<>();
 
-            List<SwaggerApiProperty> swaggerApiProperties = swaggerApiRegistry.getAllSwaggerApiProperties();
+        if (swaggerApiProperties != null && !swaggerApiProperties.isEmpty()) {
 
-            List<ApiDescription> apiDescriptions = new ArrayList<>();
+            for (SwaggerApiProperty swaggerApiProperty : swaggerApiProperties) {
 
-            if (swaggerApiProperties != null && !swaggerApiProperties.isEmpty()) {
+                ApiDescription apiDescription = previous.get(swaggerApiProperty);
 
-                for (SwaggerApiProperty swaggerApiProperty : swaggerApiProperties) {
+                if (apiDescription == null) {
 
                     //获取Models
                     Map<String, Model> models = resolveModels(documentationContext, swaggerApiProperty);
 
                     if (models != null && !models.isEmpty()) {
-                        swaggerApiRegistry.registerModels(models);
+                        swaggerApiRegistry.registerModels(group, swaggerApiProperty, models);
                     }
 
                     //解析ApiDescription
-                    ApiDescription apiDescription = resolveApiDescription(documentationContext, swaggerApiProperty);
+                    apiDescription = resolveApiDescription(documentationContext, docket, swaggerApiProperty);
+                }
 
-                    apiDescriptions.add(apiDescription);
+                current.put(swaggerApiProperty, apiDescription);
+                apiDescriptions.add(apiDescription);
 
-                }
             }
-            return apiDescriptions;
         }
-        return Collections.emptyList();
+        resolved.put(group, current);
+        return apiDescriptions;
     }
 
     /**
      * 解析ApiDescription
      *
      * @param documentationContext
+     * @param docket
      * @param swaggerApiProperty
      * @return
      */
-    private ApiDescription resolveApiDescription(DocumentationContext documentationContext,
+    private ApiDescription resolveApiDescription(DocumentationContext documentationContext, Docket docket,
                                                  SwaggerApiProperty swaggerApiProperty) {
 
         final String groupName = docket.getGroupName();
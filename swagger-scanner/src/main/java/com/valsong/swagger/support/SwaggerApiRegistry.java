@@ -0,0 +1,325 @@
+package com.valsong.swagger.support;
+
+import com.valsong.swagger.model.MethodProperty;
+import com.valsong.swagger.model.SwaggerApiProperty;
+import com.valsong.swagger.util.SwaggerExampleClassLoader;
+import springfox.documentation.schema.Model;
+import springfox.documentation.service.ApiDescription;
+import springfox.documentation.service.Tag;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 存放swagger将扫描的内容展示到页面需要的内容
+ *
+ * @author: Val Song
+ */
+public interface SwaggerApiRegistry {
+
+    /**
+     *  申请方法名，防止重名
+     *
+     * @param beanName
+     * @param method
+     * @return
+     */
+    default String allocateMethodName(String beanName, Method method) {
+        return allocateMethodName(beanName, method, method.getDeclaringClass());
+    }
+
+    /**
+     *  申请方法名，防止重名,重载序号在bean的类的全部public方法中计算
+     *
+     * @param beanName
+     * @param method
+     * @param beanClazz bean的类,代理时为被代理的类
+     * @return
+     */
+    String allocateMethodName(String beanName, Method method, Class<?> beanClazz);
+
+    /**
+     * 注册swaggerApiProperty
+     *
+     * @param swaggerApiProperty
+     */
+    void registerSwaggerApiProperty(SwaggerApiProperty swaggerApiProperty);
+
+    /**
+     * 获取所有SwaggerApiProperty
+     *
+     * @return
+     */
+    List<SwaggerApiProperty> getAllSwaggerApiProperties();
+
+
+    /**
+     * 获取分配到指定Docket分组的SwaggerApiProperty
+     *
+     * @param group Docket bean的名称
+     * @return
+     */
+    default List<SwaggerApiProperty> getSwaggerApiProperties(String group) {
+        return getAllSwaggerApiProperties();
+    }
+
+    /**
+     * 注册ApiDescription
+     *
+     * @param apiDescription
+     */
+    void registerApiDescription(ApiDescription apiDescription);
+
+    /**
+     * 获取所有ApiDescription
+     *
+     * @return
+     */
+    List<ApiDescription> getAllApiDescriptions();
+
+    /**
+     * 注册Model
+     *
+     * @param modelMap
+     */
+    void registerModels(Map<String, Model> modelMap);
+
+    /**
+     * 获取所有ApiDescription
+     *
+     * @return
+     */
+    Map<String, Model> getModels();
+
+    /**
+     * 注册指定Docket分组的Model
+     *
+     * @param group
+     * @param modelMap
+     */
+    default void registerModels(String group, Map<String, Model> modelMap) {
+        registerModels(modelMap);
+    }
+
+    /**
+     * 注册指定Docket分组中由某个SwaggerApiProperty使用的Model,
+     * 移除SwaggerApiProperty后不再被该分组使用的Model随之移除
+     *
+     * @param group
+     * @param owner
+     * @param modelMap
+     */
+    default void registerModels(String group, SwaggerApiProperty owner, Map<String, Model> modelMap) {
+        registerModels(group, modelMap);
+    }
+
+    /**
+     * 获取指定Docket分组的Model
+     *
+     * @param group
+     * @return
+     */
+    default Map<String, Model> getModels(String group) {
+        return getModels();
+    }
+
+    /**
+     * 注册页面触发的方法
+     *
+     * @param methodName
+     * @param methodProperty
+     */
+    void registerTriggerMethod(String methodName, MethodProperty methodProperty);
+
+    /**
+     * 获取需要调用的方法
+     *
+     * @param methodName
+     * @return
+     */
+    MethodProperty getTriggerMethod(String methodName);
+
+    /**
+     * 获取所有页面触发的方法
+     *
+     * @return 方法名称 -> 方法
+     */
+    default Map<String, MethodProperty> getAllTriggerMethods() {
+        return Collections.emptyMap();
+    }
+
+    /**
+     * 移除指定bean注册的所有方法,用于bean销毁或者context关闭
+     *
+     * @param beanName
+     */
+    default void removeByBeanName(String beanName) {
+
+    }
+
+    /**
+     * 移除指定实例注册的所有方法,其他context中的同名bean不受影响
+     *
+     * @param beanName
+     * @param bean     需要移除的实例
+     */
+    default void removeBean(String beanName, Object bean) {
+
+    }
+
+    /**
+     * bean重新创建时调用,移除同名bean的旧实例注册的所有方法,之后由扫描重新注册
+     *
+     * @param beanName
+     * @param bean     新的实例
+     */
+    default void replaceBean(String beanName, Object bean) {
+
+    }
+
+    /**
+     * 同一个类的bean重新创建(如prototype bean)时,把同名bean已注册的方法指向新的实例,
+     * 已注册的方法、文档和调用统计保持不变
+     *
+     * @param beanName
+     * @param bean     新的实例
+     * @return 没有注册过该bean或旧实例的类不同时返回false,此时需要{@link #replaceBean(String, Object)}后重新扫描
+     */
+    default boolean rebindBean(String beanName, Object bean) {
+        return false;
+    }
+
+    /**
+     * 根据注册时分配的endpointId获取需要调用的方法
+     *
+     * @param endpointId
+     * @return
+     */
+    default MethodProperty getTriggerMethod(int endpointId) {
+        return null;
+    }
+
+    /**
+     * 获取所有方法名称对应的endpointId
+     *
+     * @return
+     */
+    default Map<String, Integer> getEndpointIds() {
+        return Collections.emptyMap();
+    }
+
+    /**
+     * 启动完成后冻结已经注册的方法,之后按名称和endpointId的查找都使用不可变的方法表
+     * 冻结后仍然可以注册,注册或者移除方法会使冻结失效,直到下一次调用freeze()才重新生成方法表
+     */
+    default void freeze() {
+
+    }
+
+    /**
+     * 扫描结果快照
+     *
+     * @return 没有配置快照时返回null
+     */
+    default SwaggerScanSnapshot getScanSnapshot() {
+        return null;
+    }
+
+    /**
+     * 延迟的扫描阶段
+     *
+     * @return 没有开启延迟扫描时返回null
+     */
+    default SwaggerDeferredScanStage getDeferredScanStage() {
+        return null;
+    }
+
+    /**
+     * 编译时生成的注解索引
+     *
+     * @return 没有开启或者classpath中没有索引时返回null
+     */
+    default SwaggerAnnotationIndex getAnnotationIndex() {
+        return null;
+    }
+
+    /**
+     * 参数class的磁盘缓存
+     *
+     * @return 没有配置缓存目录时返回null
+     */
+    default SwaggerExampleClassCache getExampleClassCache() {
+        return null;
+    }
+
+    /**
+     * 定义生成的参数class的classLoader,每个registry一个
+     *
+     * @return 返回null时使用默认的classLoader
+     */
+    default SwaggerExampleClassLoader getExampleClassLoader() {
+        return null;
+    }
+
+    /**
+     * 关闭registry,释放生成的参数class和所有注册的内容,context关闭时调用
+     */
+    default void close() {
+
+    }
+
+    /**
+     * 执行等待中的延迟扫描,没有开启延迟扫描时不做任何操作
+     */
+    default void runDeferredScans() {
+        SwaggerDeferredScanStage deferredScanStage = getDeferredScanStage();
+        if (deferredScanStage != null) {
+            deferredScanStage.run(this);
+        }
+    }
+
+    /**
+     * 注册tag
+     *
+     * @param tag
+     */
+    void registerTag(Tag tag);
+
+    /**
+     * 注册tags
+     *
+     * @param tags
+     */
+    void registerTag(Set<Tag> tags);
+
+    /**
+     * 获取所有tags
+     *
+     * @return
+     */
+    Set<Tag> getAllTags();
+
+    /**
+     * 获取指定Docket分组的方法使用的tags
+     *
+     * @param group
+     * @return
+     */
+    default Set<Tag> getTags(String group) {
+        return getAllTags();
+    }
+
+    /**
+     * 所有的Docket分组
+     *
+     * @return
+     */
+    default Set<String> getGroups() {
+        return Collections.singleton(SwaggerDocketRouter.DEFAULT_GROUP);
+    }
+
+
+}
@@ -0,0 +1,243 @@
+package com.valsong.swagger.support;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.valsong.swagger.exception.SwaggerScannerException;
+import com.valsong.swagger.model.MethodProperty;
+import com.valsong.swagger.model.SwaggerBatchResult;
+import com.valsong.swagger.util.Utf8CountingWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.valsong.swagger.constant.SwaggerScannerConstants.ENDPOINT_ID;
+
+/**
+ * 批量调用,请求体为 [{"method":"beanName.methodName","body":{...}}, ...],
+ * 也可以使用endpointId代替方法名称 [{"endpointId":3,"body":{...}}, ...]
+ * <p>
+ * 每个调用互相独立,在有界的线程池中并行执行,结果按请求的顺序返回,
+ * 线程池队列满时对应的调用返回503
+ *
+ * @author Val Song
+ */
+public class SwaggerBatchInvoker {
+
+    private static final Logger logger = LoggerFactory.getLogger(SwaggerBatchInvoker.class);
+
+    /**
+     * 方法名称
+     */
+    private static final String METHOD = "method";
+
+    /**
+     * 方法参数
+     */
+    private static final String BODY = "body";
+
+    /**
+     * 默认的线程池队列长度
+     */
+    private static final int DEFAULT_QUEUE_CAPACITY = 1000;
+
+    /**
+     * 从JsonReader中逐个读取调用
+     */
+    private static final TypeAdapter<JsonElement> JSON_ELEMENT = new Gson().getAdapter(JsonElement.class);
+
+    /**
+     * 执行批量调用的线程池
+     */
+    private final ThreadPoolExecutor executor;
+
+    public SwaggerBatchInvoker(int parallelism) {
+        this(parallelism, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    public SwaggerBatchInvoker(int parallelism, int queueCapacity) {
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(parallelism, parallelism, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(queueCapacity, 1)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "swagger-scanner-batch-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * 解析整个请求体后提交所有调用
+     *
+     * @param reader 请求体
+     * @return 与请求顺序一致的调用结果
+     */
+    public List<CompletableFuture<SwaggerBatchResult>> invoke(Reader reader) {
+
+        List<JsonElement> entries = new ArrayList<>();
+
+        try {
+            JsonReader jsonReader = new JsonReader(reader);
+            jsonReader.setLenient(true);
+
+            if (jsonReader.peek() != JsonToken.BEGIN_ARRAY) {
+                throw new SwaggerScannerException("swagger batch request expects a json array but was "
+                        + jsonReader.peek());
+            }
+
+            jsonReader.beginArray();
+            while (jsonReader.hasNext()) {
+                entries.add(JSON_ELEMENT.read(jsonReader));
+            }
+            jsonReader.endArray();
+
+        } catch (IOException | JsonParseException e) {
+            throw new SwaggerScannerException("swagger batch request parse failed!", e);
+        }
+
+        //整个请求体解析成功后再提交,请求体不合法时不会执行任何调用
+        List<CompletableFuture<SwaggerBatchResult>> results = new ArrayList<>(entries.size());
+        for (JsonElement entry : entries) {
+            try {
+                results.add(CompletableFuture.supplyAsync(() -> invoke(entry), executor));
+            } catch (RejectedExecutionException e) {
+                results.add(CompletableFuture.completedFuture(SwaggerBatchResult.failed(null,
+                        SwaggerBatchResult.UNAVAILABLE, "swagger batch executor is full")));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * 执行单个调用,不会抛出异常,失败时返回对应的状态
+     *
+     * @param entry
+     * @return
+     */
+    private SwaggerBatchResult invoke(JsonElement entry) {
+
+        if (!entry.isJsonObject()) {
+            return SwaggerBatchResult.failed(null, SwaggerBatchResult.BAD_REQUEST, "entry must be a json object");
+        }
+
+        JsonObject entryObj = entry.getAsJsonObject();
+        JsonElement methodElement = entryObj.get(METHOD);
+        JsonElement endpointIdElement = entryObj.get(ENDPOINT_ID);
+
+        String methodName;
+        MethodProperty methodProperty;
+        if (endpointIdElement != null && endpointIdElement.isJsonPrimitive()) {
+            int endpointId;
+            try {
+                endpointId = endpointIdElement.getAsInt();
+            } catch (NumberFormatException e) {
+                return SwaggerBatchResult.failed(null, SwaggerBatchResult.BAD_REQUEST, "illegal endpointId");
+            }
+            try {
+                methodProperty = SwaggerScannerInvoker.getTriggerMethod(endpointId);
+            } catch (SwaggerScannerException e) {
+                return SwaggerBatchResult.failed(null, SwaggerBatchResult.NOT_FOUND, e.getMessage());
+            }
+            methodName = methodProperty.getMethodName();
+        } else {
+            if (methodElement == null || !methodElement.isJsonPrimitive()) {
+                return SwaggerBatchResult.failed(null, SwaggerBatchResult.BAD_REQUEST, "entry without method");
+            }
+            methodName = methodElement.getAsString();
+            try {
+                methodProperty = SwaggerScannerInvoker.getTriggerMethod(methodName);
+            } catch (SwaggerScannerException e) {
+                return SwaggerBatchResult.failed(methodName, SwaggerBatchResult.NOT_FOUND, e.getMessage());
+            }
+        }
+
+        JsonElement body = entryObj.get(BODY);
+        MethodMetrics metrics = methodProperty.getMetrics();
+        if (metrics != null) {
+            metrics.recordRequestBytes(jsonBytes(body));
+        }
+
+        SwaggerBatchResult result = invoke(methodName, methodProperty, body);
+        result.setMetrics(metrics);
+        return result;
+    }
+
+    /**
+     * 绑定参数并执行方法
+     *
+     * @param methodName
+     * @param methodProperty
+     * @param body
+     * @return
+     */
+    private static SwaggerBatchResult invoke(String methodName, MethodProperty methodProperty, JsonElement body) {
+        Object[] params;
+        try {
+            params = SwaggerScannerInvoker.bind(methodProperty, body);
+        } catch (RuntimeException e) {
+            return SwaggerBatchResult.failed(methodName, SwaggerBatchResult.BAD_REQUEST, errorMessage(e));
+        }
+
+        try {
+            return SwaggerBatchResult.ok(methodName, SwaggerScannerInvoker.invoke(methodProperty, params));
+        } catch (RuntimeException e) {
+            logger.error("swagger batch invoke method: " + methodName + " failed!", e);
+            return SwaggerBatchResult.failed(methodName, SwaggerBatchResult.ERROR, errorMessage(e));
+        }
+    }
+
+    /**
+     * 调用参数序列化为Json后的字节数,请求体中的空白不计算在内
+     *
+     * @param body
+     * @return
+     */
+    private static long jsonBytes(JsonElement body) {
+        if (body == null) {
+            return 0L;
+        }
+        Utf8CountingWriter counter = new Utf8CountingWriter();
+        try {
+            JSON_ELEMENT.write(new JsonWriter(counter), body);
+        } catch (IOException e) {
+            throw new SwaggerScannerException("swagger batch request measure failed!", e);
+        }
+        return counter.count();
+    }
+
+    /**
+     * 关闭线程池
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * 错误信息,优先使用引起异常的原因
+     *
+     * @param e
+     * @return
+     */
+    private static String errorMessage(Throwable e) {
+        Throwable cause = e.getCause() != null ? e.getCause() : e;
+        return cause.toString();
+    }
+
+}
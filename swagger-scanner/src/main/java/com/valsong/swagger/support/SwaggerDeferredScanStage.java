@@ -0,0 +1,167 @@
+package com.valsong.swagger.support;
+
+import com.valsong.swagger.exception.SwaggerScannerException;
+import com.valsong.swagger.model.SwaggerApiProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * 延迟的扫描阶段
+ * <p>
+ * 开启后scanner在创建bean的线程中只记录需要扫描的bean,方法扫描和调用器的生成在所有bean创建完成后
+ * 由ForkJoinPool并行执行,之后并行生成页面上的参数和返回值描述;
+ * 在swagger生成文档之前执行,之后新增的bean在context刷新完成时执行;
+ * 第一次执行完成后(如懒加载的bean、prototype bean、运行时getBean创建的bean)不再延迟,在调用defer的线程中立即扫描
+ *
+ * @author Val Song
+ */
+public class SwaggerDeferredScanStage {
+
+    private static final Logger logger = LoggerFactory.getLogger(SwaggerDeferredScanStage.class);
+
+    /**
+     * 等待执行的扫描
+     */
+    private final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 并行度
+     */
+    private final int parallelism;
+
+    /**
+     * 第一次执行是否已经完成,完成后不再延迟扫描
+     */
+    private volatile boolean started;
+
+    /**
+     * @param parallelism 小于等于0时使用cpu核数
+     */
+    public SwaggerDeferredScanStage(int parallelism) {
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * 记录需要延迟执行的扫描,第一次执行完成后立即扫描
+     *
+     * @param scan
+     */
+    public void defer(Runnable scan) {
+        if (started) {
+            scan.run();
+            return;
+        }
+        pending.add(scan);
+        //加入队列之前第一次执行刚好完成,队列不会再被执行
+        if (started) {
+            runPending();
+        }
+    }
+
+    /**
+     * 第一次执行是否已经完成
+     *
+     * @return
+     */
+    public boolean isStarted() {
+        return started;
+    }
+
+    /**
+     * 并行执行所有等待的扫描,全部完成后返回,任意一个扫描失败时抛出SwaggerScannerException
+     *
+     * @param swaggerApiRegistry 扫描完成后生成其中的方法的描述
+     */
+    public synchronized void run(SwaggerApiRegistry swaggerApiRegistry) {
+        try {
+            runParallel(swaggerApiRegistry);
+        } finally {
+            started = true;
+            //执行期间加入的扫描
+            runPending();
+        }
+    }
+
+    private void runParallel(SwaggerApiRegistry swaggerApiRegistry) {
+        List<Callable<Void>> scans = new ArrayList<>();
+        Runnable scan;
+        while ((scan = pending.poll()) != null) {
+            Runnable task = scan;
+            scans.add(() -> {
+                task.run();
+                return null;
+            });
+        }
+        if (scans.isEmpty()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            awaitAll(pool.invokeAll(scans));
+
+            //描述由反射和字符串拼接生成,提前生成避免在swagger生成文档时逐个计算
+            List<Callable<Void>> descriptions = new ArrayList<>();
+            for (SwaggerApiProperty swaggerApiProperty : swaggerApiRegistry.getAllSwaggerApiProperties()) {
+                descriptions.add(() -> {
+                    swaggerApiProperty.getApiOperation();
+                    swaggerApiProperty.getParameterDesc();
+                    swaggerApiProperty.getReturnDesc();
+                    return null;
+                });
+            }
+            awaitAll(pool.invokeAll(descriptions));
+        } finally {
+            pool.shutdown();
+        }
+        logger.info("swagger deferred scan of {} beans finished in {} ms with parallelism {}.", scans.size(),
+                (System.nanoTime() - start) / 1_000_000, parallelism);
+    }
+
+    /**
+     * 在当前线程中执行等待的扫描
+     */
+    private void runPending() {
+        Runnable scan;
+        while ((scan = pending.poll()) != null) {
+            scan.run();
+        }
+    }
+
+    /**
+     * 等待所有任务完成,有任务失败时抛出第一个异常,其余的异常作为suppressed
+     *
+     * @param futures
+     */
+    private static void awaitAll(List<Future<Void>> futures) {
+        SwaggerScannerException failure = null;
+        for (Future<Void> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = new SwaggerScannerException("swagger deferred scan failed!", e.getCause());
+                } else {
+                    failure.addSuppressed(e.getCause());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SwaggerScannerException("swagger deferred scan interrupted!", e);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.valsong.swagger.support;
+
+import com.valsong.swagger.configuration.SwaggerScannerProperties;
+import com.valsong.swagger.model.SwaggerApiProperty;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 按tag或者bean所在的包将扫描到的方法分配到Docket,分组的名称为Docket bean的名称
+ *
+ * @author Val Song
+ */
+public class SwaggerDocketRouter {
+
+    /**
+     * 没有指定docketBeanName时的分组,按类型获取唯一的Docket
+     */
+    public static final String DEFAULT_GROUP = "";
+
+    /**
+     * 只有一个Docket时使用,所有方法都在默认分组
+     */
+    public static final SwaggerDocketRouter SINGLE = new SwaggerDocketRouter(DEFAULT_GROUP, Collections.emptyList());
+
+    private final String defaultGroup;
+
+    private final List<SwaggerScannerProperties.DocketGroup> docketGroups;
+
+    /**
+     * @param defaultDocketBeanName 不匹配任何分组时使用的Docket,为空时使用第一个分组的Docket,没有分组时按类型获取
+     * @param docketGroups
+     */
+    public SwaggerDocketRouter(String defaultDocketBeanName, List<SwaggerScannerProperties.DocketGroup> docketGroups) {
+        this.docketGroups = Collections.unmodifiableList(new ArrayList<>(docketGroups));
+        if (StringUtils.isNotBlank(defaultDocketBeanName)) {
+            this.defaultGroup = defaultDocketBeanName;
+        } else if (!docketGroups.isEmpty()) {
+            this.defaultGroup = docketGroups.get(0).getDocketBeanName();
+        } else {
+            this.defaultGroup = DEFAULT_GROUP;
+        }
+    }
+
+    /**
+     * 方法所在的分组
+     *
+     * @param swaggerApiProperty
+     * @return Docket bean的名称,默认分组时为DEFAULT_GROUP
+     */
+    public String route(SwaggerApiProperty swaggerApiProperty) {
+        String tag = swaggerApiProperty.getTag();
+        Class<?> beanClazz = swaggerApiProperty.getBeanClazz();
+        String beanClazzName = beanClazz == null ? "" : beanClazz.getName();
+        for (SwaggerScannerProperties.DocketGroup docketGroup : docketGroups) {
+            if (tag != null && Arrays.asList(docketGroup.getTags()).contains(tag)) {
+                return docketGroup.getDocketBeanName();
+            }
+            for (String pkg : docketGroup.getPackages()) {
+                if (beanClazzName.startsWith(pkg + ".")) {
+                    return docketGroup.getDocketBeanName();
+                }
+            }
+        }
+        return defaultGroup;
+    }
+
+    /**
+     * 所有的分组,默认分组在最前
+     *
+     * @return
+     */
+    public Set<String> getGroups() {
+        Set<String> groups = new LinkedHashSet<>();
+        groups.add(defaultGroup);
+        docketGroups.forEach(docketGroup -> groups.add(docketGroup.getDocketBeanName()));
+        return groups;
+    }
+
+}
@@ -0,0 +1,277 @@
+package com.valsong.swagger.support;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 保存在磁盘上的参数class缓存
+ * <p>
+ * methods目录按SwaggerExampleClassBuilder.prebuiltKey保存方法对应的参数class的structureKey,
+ * key由方法签名、参数名称和bean的class的泛型声明决定,任意一个变化时key随之变化,旧的记录不再被读取;
+ * classes目录按structureKey保存参数class的字节码,参数名称和类型都相同的方法共用;
+ * 启动时命中的class直接使用保存的字节码定义,不再分析参数类型和使用byte buddy生成;
+ * 启动完成后清理超过保留时间没有使用的记录和不再被任何记录引用的字节码
+ *
+ * @author Val Song
+ */
+public class SwaggerExampleClassCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(SwaggerExampleClassCache.class);
+
+    private static final String CLASS_FILE_SUFFIX = ".class";
+
+    private static final String KEY_FILE_SUFFIX = ".key";
+
+    private static final String TMP_FILE_SUFFIX = ".tmp";
+
+    private static final Pattern STRUCTURE_KEY_PATTERN = Pattern.compile("[0-9a-f]+");
+
+    /**
+     * 默认保留7天内使用过的记录,共用目录的其他应用或者其他版本仍然可能使用
+     */
+    public static final long DEFAULT_RETENTION_MILLIS = TimeUnit.DAYS.toMillis(7);
+
+    /**
+     * 使用过的记录的修改时间超过1天时更新,避免每次启动都写入所有记录
+     */
+    private static final long TOUCH_INTERVAL_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+    /**
+     * 方法 -> structureKey
+     */
+    private static final String METHODS_DIRECTORY = "methods";
+
+    /**
+     * structureKey -> 字节码
+     */
+    private static final String CLASSES_DIRECTORY = "classes";
+
+    private final Path directory;
+
+    /**
+     * 没有使用的记录的保留时间
+     */
+    private final long retentionMillis;
+
+    /**
+     * 本次启动读取或者写入的方法的key
+     */
+    private final Set<String> usedKeys = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 本次启动读取或者写入的structureKey
+     */
+    private final Set<String> usedStructureKeys = ConcurrentHashMap.newKeySet();
+
+    public SwaggerExampleClassCache(Path directory) {
+        this(directory, DEFAULT_RETENTION_MILLIS);
+    }
+
+    public SwaggerExampleClassCache(Path directory, long retentionMillis) {
+        this.directory = directory;
+        this.retentionMillis = retentionMillis;
+    }
+
+    /**
+     * 读取方法对应的参数class的structureKey
+     *
+     * @param key prebuiltKey
+     * @return 没有保存或者读取失败时返回null
+     */
+    public String readStructureKey(String key) {
+        usedKeys.add(key);
+        byte[] bytes = read(methodFile(key));
+        if (bytes == null) {
+            return null;
+        }
+        //structureKey用作文件名和类名,内容不合法时忽略
+        String structureKey = new String(bytes, StandardCharsets.UTF_8).trim();
+        return STRUCTURE_KEY_PATTERN.matcher(structureKey).matches() ? structureKey : null;
+    }
+
+    /**
+     * 保存方法对应的参数class的structureKey
+     *
+     * @param key          prebuiltKey
+     * @param structureKey
+     */
+    public void writeStructureKey(String key, String structureKey) {
+        usedKeys.add(key);
+        usedStructureKeys.add(structureKey);
+        write(methodFile(key), structureKey.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 读取保存的字节码
+     *
+     * @param structureKey
+     * @return 没有保存或者读取失败时返回null
+     */
+    public byte[] readClass(String structureKey) {
+        usedStructureKeys.add(structureKey);
+        return read(classFile(structureKey));
+    }
+
+    /**
+     * 保存字节码,结构相同的方法共用
+     *
+     * @param structureKey
+     * @param bytes
+     */
+    public void writeClass(String structureKey, byte[] bytes) {
+        usedStructureKeys.add(structureKey);
+        write(classFile(structureKey), bytes);
+    }
+
+    /**
+     * 删除无法使用的字节码
+     *
+     * @param structureKey
+     */
+    public void evictClass(String structureKey) {
+        Path file = classFile(structureKey);
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("swagger example class cache evict " + file + " failed!", e);
+        }
+    }
+
+    /**
+     * 清理缓存,在启动完成、参数class已经生成之后调用
+     * <p>
+     * 本次启动使用过的记录更新修改时间;没有使用且超过保留时间的记录删除;
+     * 字节码只保留仍然被记录引用或者本次启动使用过的
+     */
+    public void prune() {
+        long now = System.currentTimeMillis();
+        Set<String> referenced = new HashSet<>(usedStructureKeys);
+        int prunedMethods = 0;
+        int prunedClasses = 0;
+        try {
+            for (Path file : list(directory.resolve(METHODS_DIRECTORY))) {
+                String fileName = file.getFileName().toString();
+                if (fileName.endsWith(KEY_FILE_SUFFIX)
+                        && usedKeys.contains(fileName.substring(0, fileName.length() - KEY_FILE_SUFFIX.length()))) {
+                    touch(file, now);
+                    continue;
+                }
+                if (isExpired(file, now)) {
+                    prunedMethods += delete(file);
+                    continue;
+                }
+                if (fileName.endsWith(KEY_FILE_SUFFIX)) {
+                    byte[] bytes = read(file);
+                    if (bytes != null) {
+                        referenced.add(new String(bytes, StandardCharsets.UTF_8).trim());
+                    }
+                }
+            }
+            for (Path file : list(directory.resolve(CLASSES_DIRECTORY))) {
+                String fileName = file.getFileName().toString();
+                boolean unreferenced = !fileName.endsWith(CLASS_FILE_SUFFIX) || !referenced.contains(
+                        fileName.substring(0, fileName.length() - CLASS_FILE_SUFFIX.length()));
+                //临时文件可能正在被其他应用写入
+                if (unreferenced && (!fileName.endsWith(TMP_FILE_SUFFIX) || isExpired(file, now))) {
+                    prunedClasses += delete(file);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("swagger example class cache prune " + directory + " failed!", e);
+            return;
+        }
+        if (prunedMethods > 0 || prunedClasses > 0) {
+            logger.info("swagger example class cache pruned, {} methods and {} classes removed from {}.",
+                    prunedMethods, prunedClasses, directory);
+        }
+    }
+
+    private boolean isExpired(Path file, long now) throws IOException {
+        return now - Files.getLastModifiedTime(file).toMillis() > retentionMillis;
+    }
+
+    private static void touch(Path file, long now) throws IOException {
+        if (now - Files.getLastModifiedTime(file).toMillis() > TOUCH_INTERVAL_MILLIS) {
+            Files.setLastModifiedTime(file, FileTime.fromMillis(now));
+        }
+    }
+
+    /**
+     * 删除文件,其他应用同时清理时可能已经被删除
+     *
+     * @param file
+     * @return 删除的文件数
+     * @throws IOException
+     */
+    private static int delete(Path file) throws IOException {
+        return Files.deleteIfExists(file) ? 1 : 0;
+    }
+
+    private static List<Path> list(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return Collections.emptyList();
+        }
+        try (Stream<Path> paths = Files.list(dir)) {
+            return paths.collect(Collectors.toList());
+        }
+    }
+
+    private byte[] read(Path file) {
+        try {
+            return Files.readAllBytes(file);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            logger.warn("swagger example class cache read from " + file + " failed!", e);
+            return null;
+        }
+    }
+
+    /**
+     * 先写临时文件再替换,写入失败不影响生成的class
+     *
+     * @param file
+     * @param bytes
+     */
+    private void write(Path file, byte[] bytes) {
+        try {
+            Path parent = file.getParent();
+            Files.createDirectories(parent);
+            Path tmp = Files.createTempFile(parent, file.getFileName().toString(), TMP_FILE_SUFFIX);
+            Files.write(tmp, bytes);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("swagger example class cache write to " + file + " failed!", e);
+        }
+    }
+
+    private Path methodFile(String key) {
+        return directory.resolve(METHODS_DIRECTORY).resolve(key + KEY_FILE_SUFFIX);
+    }
+
+    private Path classFile(String structureKey) {
+        return directory.resolve(CLASSES_DIRECTORY).resolve(structureKey + CLASS_FILE_SUFFIX);
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+}
@@ -0,0 +1,116 @@
+package com.valsong.swagger.support;
+
+import com.valsong.swagger.model.SwaggerMethodMetrics;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * 所有页面触发的方法的调用统计
+ *
+ * @author Val Song
+ */
+public class SwaggerInvokeMetrics {
+
+    /**
+     * 方法名称 -> 调用统计
+     */
+    private final Map<String, MethodMetrics> metrics = new ConcurrentHashMap<>();
+
+    /**
+     * 新方法注册时的回调,用于注册到Micrometer等
+     */
+    private final List<BiConsumer<String, MethodMetrics>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * 方法移除时的回调,用于从Micrometer等移除
+     */
+    private final List<BiConsumer<String, MethodMetrics>> removalListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * 获取方法的调用统计,不存在时创建
+     *
+     * @param methodName
+     * @return
+     */
+    public MethodMetrics register(String methodName) {
+        return register(methodName, null);
+    }
+
+    /**
+     * 获取方法的调用统计,不存在或者返回值缓存不同时创建
+     *
+     * @param methodName
+     * @param resultCache 方法的返回值缓存,不可缓存时为null
+     * @return
+     */
+    public MethodMetrics register(String methodName, SwaggerResultCache resultCache) {
+        while (true) {
+            MethodMetrics existing = metrics.get(methodName);
+            if (existing != null && existing.getResultCache() == resultCache) {
+                return existing;
+            }
+            MethodMetrics created = new MethodMetrics(resultCache);
+            if (existing == null) {
+                if (metrics.putIfAbsent(methodName, created) != null) {
+                    continue;
+                }
+            } else if (metrics.replace(methodName, existing, created)) {
+                //重新注册时返回值缓存已经变化,旧的统计不再使用
+                removalListeners.forEach(listener -> listener.accept(methodName, existing));
+            } else {
+                continue;
+            }
+            listeners.forEach(listener -> listener.accept(methodName, created));
+            return created;
+        }
+    }
+
+    /**
+     * 移除方法的调用统计,已经被新注册的统计替换时不移除
+     *
+     * @param methodName
+     * @param methodMetrics 需要移除的统计
+     */
+    public void remove(String methodName, MethodMetrics methodMetrics) {
+        if (methodMetrics != null && metrics.remove(methodName, methodMetrics)) {
+            removalListeners.forEach(listener -> listener.accept(methodName, methodMetrics));
+        }
+    }
+
+    /**
+     * 添加回调,已经注册的方法会立即回调一次
+     *
+     * @param listener
+     */
+    public void addListener(BiConsumer<String, MethodMetrics> listener) {
+        listeners.add(listener);
+        metrics.forEach(listener);
+    }
+
+    /**
+     * 添加方法移除时的回调
+     *
+     * @param removalListener
+     */
+    public void addRemovalListener(BiConsumer<String, MethodMetrics> removalListener) {
+        removalListeners.add(removalListener);
+    }
+
+    /**
+     * 所有方法的调用统计的快照,按方法名称排序
+     *
+     * @return
+     */
+    public List<SwaggerMethodMetrics> snapshot() {
+        return metrics.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> SwaggerMethodMetrics.of(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList());
+    }
+
+}
@@ -0,0 +1,128 @@
+package com.valsong.swagger.support;
+
+import com.valsong.swagger.util.LongHistogram;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 将{@link SwaggerInvokeMetrics}注册到Micrometer,只在classpath中存在Micrometer时创建
+ * <p>
+ * 所有指标都从已有的统计中读取,不会在调用时额外记录;方法移除后其指标也从MeterRegistry中移除
+ *
+ * @author Val Song
+ */
+public class SwaggerInvokeMetricsBinder implements MeterBinder {
+
+    private static final String METHOD_TAG = "method";
+
+    private static final String QUANTILE_TAG = "quantile";
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final SwaggerInvokeMetrics invokeMetrics;
+
+    /**
+     * 方法的调用统计 -> 为其注册的指标,方法移除时一起移除
+     */
+    private final Map<MethodMetrics, List<Meter>> meters = new ConcurrentHashMap<>();
+
+    public SwaggerInvokeMetricsBinder(SwaggerInvokeMetrics invokeMetrics) {
+        this.invokeMetrics = invokeMetrics;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        invokeMetrics.addRemovalListener((methodName, metrics) -> unbind(registry, metrics));
+        invokeMetrics.addListener((methodName, metrics) -> meters.put(metrics, bind(registry, methodName, metrics)));
+    }
+
+    /**
+     * 移除单个方法的指标
+     *
+     * @param registry
+     * @param metrics
+     */
+    private void unbind(MeterRegistry registry, MethodMetrics metrics) {
+        List<Meter> removed = meters.remove(metrics);
+        if (removed != null) {
+            removed.forEach(registry::remove);
+        }
+    }
+
+    /**
+     * 注册单个方法的指标
+     *
+     * @param registry
+     * @param methodName
+     * @param metrics
+     * @return 注册的指标
+     */
+    private static List<Meter> bind(MeterRegistry registry, String methodName, MethodMetrics metrics) {
+        Tags tags = Tags.of(METHOD_TAG, methodName);
+        List<Meter> bound = new ArrayList<>();
+
+        LongHistogram latency = metrics.getLatency();
+        bound.add(FunctionTimer.builder("swagger.scanner.invocations", latency,
+                LongHistogram::getCount, LongHistogram::getSum, TimeUnit.NANOSECONDS)
+                .tags(tags)
+                .register(registry));
+        for (double quantile : QUANTILES) {
+            bound.add(Gauge.builder("swagger.scanner.invocations.latency", latency,
+                    h -> h.getPercentile(quantile) / 1_000_000D)
+                    .tags(tags.and(QUANTILE_TAG, String.valueOf(quantile)))
+                    .baseUnit("milliseconds")
+                    .register(registry));
+        }
+
+        bound.add(FunctionCounter.builder("swagger.scanner.invocations.errors", metrics,
+                MethodMetrics::getErrors)
+                .tags(tags)
+                .register(registry));
+        bound.add(FunctionCounter.builder("swagger.scanner.invocations.shared", metrics,
+                MethodMetrics::getShared)
+                .tags(tags)
+                .register(registry));
+        bound.add(FunctionCounter.builder("swagger.scanner.request.bytes", metrics.getRequestBytes(),
+                LongHistogram::getSum)
+                .tags(tags)
+                .baseUnit("bytes")
+                .register(registry));
+        bound.add(FunctionCounter.builder("swagger.scanner.response.bytes", metrics.getResponseBytes(),
+                LongHistogram::getSum)
+                .tags(tags)
+                .baseUnit("bytes")
+                .register(registry));
+
+        SwaggerResultCache resultCache = metrics.getResultCache();
+        if (resultCache != null) {
+            bound.add(FunctionCounter.builder("swagger.scanner.cache.hits", resultCache,
+                    SwaggerResultCache::getHits)
+                    .tags(tags)
+                    .register(registry));
+            bound.add(FunctionCounter.builder("swagger.scanner.cache.misses", resultCache,
+                    SwaggerResultCache::getMisses)
+                    .tags(tags)
+                    .register(registry));
+            bound.add(FunctionCounter.builder("swagger.scanner.cache.evictions", resultCache,
+                    SwaggerResultCache::getEvictions)
+                    .tags(tags)
+                    .register(registry));
+            bound.add(Gauge.builder("swagger.scanner.cache.size", resultCache, SwaggerResultCache::size)
+                    .tags(tags)
+                    .register(registry));
+        }
+        return bound;
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.valsong.swagger.support;
+
+import springfox.documentation.schema.Model;
+import springfox.documentation.service.ResourceGroup;
+import springfox.documentation.spi.DocumentationType;
+import springfox.documentation.spi.service.ApiListingBuilderPlugin;
+import springfox.documentation.spi.service.contexts.ApiListingContext;
+import springfox.documentation.spring.web.plugins.Docket;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * 手动添加Model到Swagger
+ * <p>
+ * 有多个Docket分组时,只将分组的Model添加到该分组的ApiListing
+ *
+ * @author Val Song
+ *
+ */
+public class SwaggerModelProvider implements ApiListingBuilderPlugin {
+
+    private SwaggerApiRegistry swaggerApiRegistry;
+
+    /**
+     * Docket分组 -> Docket
+     */
+    private Map<String, Docket> dockets;
+
+    public SwaggerModelProvider(SwaggerApiRegistry swaggerApiRegistry) {
+        this(swaggerApiRegistry, Collections.emptyMap());
+    }
+
+    public SwaggerModelProvider(SwaggerApiRegistry swaggerApiRegistry, Map<String, Docket> dockets) {
+        this.swaggerApiRegistry = swaggerApiRegistry;
+        this.dockets = dockets;
+    }
+
+    @Override
+    public void apply(ApiListingContext apiListingContext) {
+        if (dockets.size() <= 1) {
+            if (!swaggerApiRegistry.getModels().isEmpty()) {
+                apiListingContext.apiListingBuilder().models(swaggerApiRegistry.getModels());
+            }
+            return;
+        }
+
+        //SwaggerApiDescriptionProvider提供的ApiListing的ResourceGroup名称为Docket的groupName
+        ResourceGroup resourceGroup = apiListingContext.getResourceGroup();
+        if (resourceGroup == null) {
+            return;
+        }
+        for (Map.Entry<String, Docket> entry : dockets.entrySet()) {
+            if (entry.getValue().getGroupName().equals(resourceGroup.getGroupName())) {
+                Map<String, Model> models = swaggerApiRegistry.getModels(entry.getKey());
+                if (!models.isEmpty()) {
+                    apiListingContext.apiListingBuilder().models(models);
+                }
+                return;
+            }
+        }
+    }
+
+    @Override
+    public boolean supports(DocumentationType delimiter) {
+        return true;
+    }
+}
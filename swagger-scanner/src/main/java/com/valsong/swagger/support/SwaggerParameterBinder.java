@@ -0,0 +1,170 @@
+package com.valsong.swagger.support;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.valsong.swagger.exception.SwaggerScannerException;
+import com.valsong.swagger.util.SwaggerExampleClassBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 将请求的json按参数名称直接绑定到方法参数上
+ * <p>
+ * 只读取一遍请求体,每个顶层属性根据名称直接反序列化到对应位置的参数
+ * 未知的属性会被跳过,缺失的参数基本类型使用默认值,其它类型使用null
+ *
+ * @author Val Song
+ */
+public class SwaggerParameterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(SwaggerParameterBinder.class);
+
+    /**
+     * 方法
+     */
+    private final Method method;
+
+    /**
+     * 方法参数类型
+     */
+    private final Type[] parameterTypes;
+
+    /**
+     * 参数名称 -> 参数下标
+     */
+    private final Map<String, Integer> parameterIndexes;
+
+    /**
+     * 参数缺失时的默认值
+     */
+    private final Object[] defaultValues;
+
+    private SwaggerParameterBinder(Method method) {
+        this.method = method;
+        this.parameterTypes = method.getGenericParameterTypes();
+
+        String[] parameterNames = SwaggerExampleClassBuilder.parameterNames(method);
+        this.parameterIndexes = new HashMap<>(parameterNames.length * 2);
+        for (int i = 0; i < parameterNames.length; i++) {
+            parameterIndexes.put(parameterNames[i], i);
+        }
+
+        Class<?>[] parameterClazzes = method.getParameterTypes();
+        this.defaultValues = new Object[parameterClazzes.length];
+        for (int i = 0; i < parameterClazzes.length; i++) {
+            if (parameterClazzes[i].isPrimitive()) {
+                defaultValues[i] = Array.get(Array.newInstance(parameterClazzes[i], 1), 0);
+            }
+        }
+    }
+
+    /**
+     * 生成方法对应的参数绑定器
+     *
+     * @param method
+     * @return
+     */
+    public static SwaggerParameterBinder build(Method method) {
+        return new SwaggerParameterBinder(method);
+    }
+
+    /**
+     * 从请求的json中读取参数
+     *
+     * @param gson
+     * @param reader 请求体
+     * @return 方法参数
+     * @throws IOException
+     */
+    public Object[] bind(Gson gson, JsonReader reader) throws IOException {
+
+        Object[] args = defaultValues.clone();
+
+        reader.setLenient(true);
+
+        JsonToken token;
+        try {
+            token = reader.peek();
+        } catch (EOFException e) {
+            //请求体为空
+            return args;
+        }
+
+        if (token == JsonToken.NULL) {
+            reader.nextNull();
+            return args;
+        }
+
+        if (token != JsonToken.BEGIN_OBJECT) {
+            throw new SwaggerScannerException("method: " + method + " expects a json object but was " + token);
+        }
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            Integer index = parameterIndexes.get(name);
+
+            //未知的属性直接跳过
+            if (index == null) {
+                logger.debug("unknown parameter: {} of method: {} is skipped.", name, method);
+                reader.skipValue();
+                continue;
+            }
+
+            Object value = gson.getAdapter(TypeToken.get(parameterTypes[index])).read(reader);
+            //基本类型不能为null
+            args[index] = value == null ? defaultValues[index] : value;
+        }
+        reader.endObject();
+
+        return args;
+    }
+
+    /**
+     * 从已经解析好的json中读取参数
+     *
+     * @param gson
+     * @param json 为null时所有参数使用默认值
+     * @return 方法参数
+     */
+    public Object[] bind(Gson gson, JsonElement json) {
+
+        Object[] args = defaultValues.clone();
+
+        if (json == null || json.isJsonNull()) {
+            return args;
+        }
+
+        if (!json.isJsonObject()) {
+            throw new SwaggerScannerException("method: " + method + " expects a json object but was " + json);
+        }
+
+        for (Map.Entry<String, JsonElement> entry : json.getAsJsonObject().entrySet()) {
+            Integer index = parameterIndexes.get(entry.getKey());
+
+            //未知的属性直接跳过
+            if (index == null) {
+                logger.debug("unknown parameter: {} of method: {} is skipped.", entry.getKey(), method);
+                continue;
+            }
+
+            Object value = gson.fromJson(entry.getValue(), parameterTypes[index]);
+            //基本类型不能为null
+            args[index] = value == null ? defaultValues[index] : value;
+        }
+
+        return args;
+    }
+
+}
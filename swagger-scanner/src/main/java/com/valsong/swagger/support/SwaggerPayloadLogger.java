@@ -0,0 +1,294 @@
+package com.valsong.swagger.support;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonIOException;
+import com.valsong.swagger.exception.SwaggerScannerException;
+import com.valsong.swagger.util.RequestBody;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 记录请求和返回的Json
+ * <p>
+ * 按采样率决定是否记录,只有被采样的调用才会格式化payload,超过最大字节数的部分会被截断,
+ * 日志的输出交给单独的线程完成,队列满时丢弃
+ *
+ * @author Val Song
+ */
+public class SwaggerPayloadLogger {
+
+    private static final Logger logger = LoggerFactory.getLogger(SwaggerPayloadLogger.class);
+
+    /**
+     * 截断标记
+     */
+    private static final String TRUNCATED = "...(truncated, total %d bytes)";
+
+    /**
+     * 截断标记,返回值的总字节数未知
+     */
+    private static final String RESPONSE_TRUNCATED = "...(truncated)";
+
+    /**
+     * 异步输出日志的队列长度
+     */
+    private static final int ASYNC_QUEUE_CAPACITY = 1024;
+
+    /**
+     * 默认的采样规则
+     */
+    private final Rule defaultRule;
+
+    /**
+     * 方法名称 -> 采样规则
+     */
+    private final Map<String, Rule> overrides;
+
+    /**
+     * 输出日志的线程,同步输出时为null
+     */
+    private final ThreadPoolExecutor appender;
+
+    /**
+     * @param sampleRate 采样率 0~1
+     * @param maxBytes   每个payload最多记录的字节数
+     * @param overrides  按方法覆盖的规则,格式为 methodName=sampleRate 或 methodName=sampleRate:maxBytes
+     * @param async      是否异步输出
+     */
+    public SwaggerPayloadLogger(double sampleRate, int maxBytes, String[] overrides, boolean async) {
+        this.defaultRule = new Rule(sampleRate, maxBytes);
+        this.overrides = parseOverrides(overrides, defaultRule);
+        this.appender = async ? newAppender() : null;
+    }
+
+    /**
+     * 决定本次调用是否记录payload
+     *
+     * @param methodName
+     * @return 不需要记录时返回null
+     */
+    public Sample sample(String methodName) {
+        if (!logger.isInfoEnabled()) {
+            return null;
+        }
+        Rule rule = methodName == null ? defaultRule : overrides.getOrDefault(methodName, defaultRule);
+        if (rule.sampleRate <= 0 || (rule.sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= rule.sampleRate)) {
+            return null;
+        }
+        return new Sample(methodName, rule.maxBytes);
+    }
+
+    /**
+     * 关闭输出日志的线程
+     */
+    public void shutdown() {
+        if (appender != null) {
+            appender.shutdown();
+        }
+    }
+
+    /**
+     * 输出日志
+     *
+     * @param format
+     * @param methodName
+     * @param payload
+     */
+    private void log(String format, String methodName, String payload) {
+        if (appender == null) {
+            logger.info(format, methodName, payload);
+        } else {
+            appender.execute(() -> logger.info(format, methodName, payload));
+        }
+    }
+
+    /**
+     * 解析按方法覆盖的规则
+     *
+     * @param overrides
+     * @param defaultRule
+     * @return
+     */
+    private static Map<String, Rule> parseOverrides(String[] overrides, Rule defaultRule) {
+        Map<String, Rule> rules = new HashMap<>();
+        if (overrides == null) {
+            return rules;
+        }
+        for (String override : overrides) {
+            String methodName = StringUtils.substringBefore(override, "=").trim();
+            String rule = StringUtils.substringAfter(override, "=").trim();
+            if (methodName.isEmpty() || rule.isEmpty()) {
+                throw new SwaggerScannerException("illegal payload log override: " + override);
+            }
+            try {
+                double sampleRate = Double.parseDouble(StringUtils.substringBefore(rule, ":").trim());
+                String maxBytes = StringUtils.substringAfter(rule, ":").trim();
+                rules.put(methodName, new Rule(sampleRate,
+                        maxBytes.isEmpty() ? defaultRule.maxBytes : Integer.parseInt(maxBytes)));
+            } catch (NumberFormatException e) {
+                throw new SwaggerScannerException("illegal payload log override: " + override, e);
+            }
+        }
+        return rules;
+    }
+
+    /**
+     * 单线程有界队列,队列满时丢弃日志
+     *
+     * @return
+     */
+    private static ThreadPoolExecutor newAppender() {
+        return new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(ASYNC_QUEUE_CAPACITY),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "swagger-scanner-payload-logger");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    /**
+     * 采样规则
+     */
+    private static class Rule {
+
+        private final double sampleRate;
+
+        private final int maxBytes;
+
+        Rule(double sampleRate, int maxBytes) {
+            this.sampleRate = sampleRate;
+            this.maxBytes = maxBytes;
+        }
+    }
+
+    /**
+     * 被采样的调用
+     */
+    public class Sample {
+
+        private final String methodName;
+
+        private final int maxBytes;
+
+        Sample(String methodName, int maxBytes) {
+            this.methodName = methodName;
+            this.maxBytes = maxBytes;
+        }
+
+        /**
+         * 记录请求体
+         *
+         * @param body
+         */
+        public void logRequest(RequestBody body) {
+            String payload = body.toString(maxBytes);
+            if (body.length() > maxBytes) {
+                payload += String.format(TRUNCATED, body.length());
+            }
+            log("swagger method: {} requestJson : {}", methodName, payload);
+        }
+
+        /**
+         * 记录返回值,序列化超过最大字节数时立即停止
+         *
+         * @param gson
+         * @param returnVal
+         */
+        public void logResponse(Gson gson, Object returnVal) {
+            CappedWriter writer = new CappedWriter(maxBytes);
+            try {
+                gson.toJson(returnVal, writer);
+            } catch (JsonIOException e) {
+                if (!(e.getCause() instanceof CapReachedException)) {
+                    throw e;
+                }
+                writer.truncated();
+            }
+            log("swagger method: {} responseJson : {}", methodName, writer.toString());
+        }
+    }
+
+    /**
+     * 达到最大字节数
+     */
+    private static class CapReachedException extends java.io.IOException {
+
+        private static final long serialVersionUID = -2190435792563406751L;
+
+        CapReachedException() {
+            super(null, null);
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
+    /**
+     * 按UTF-8字节数限制长度的Writer,超过限制时抛出CapReachedException终止序列化
+     */
+    private static class CappedWriter extends Writer {
+
+        private final StringBuilder builder = new StringBuilder();
+
+        private final int maxBytes;
+
+        private int bytes;
+
+        CappedWriter(int maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws CapReachedException {
+            for (int i = off; i < off + len; i++) {
+                char c = cbuf[i];
+                int size = c < 0x80 ? 1 : (c < 0x800 || Character.isSurrogate(c) ? 2 : 3);
+                if (bytes + size > maxBytes) {
+                    throw new CapReachedException();
+                }
+                bytes += size;
+                builder.append(c);
+            }
+        }
+
+        /**
+         * 追加截断标记,不计入字节数;在代理对中间截断时去掉单独的高位代理
+         */
+        void truncated() {
+            int last = builder.length() - 1;
+            if (last >= 0 && Character.isHighSurrogate(builder.charAt(last))) {
+                builder.setLength(last);
+            }
+            builder.append(RESPONSE_TRUNCATED);
+        }
+
+        @Override
+        public void flush() {
+
+        }
+
+        @Override
+        public void close() {
+
+        }
+
+        @Override
+        public String toString() {
+            return builder.toString();
+        }
+    }
+
+}
@@ -0,0 +1,148 @@
+package com.valsong.swagger.support;
+
+import com.valsong.swagger.annotation.SwaggerCacheable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 单个方法的返回值缓存,按访问顺序淘汰最久未使用的结果,过期的结果在读取时移除
+ * <p>
+ * 缓存的key为规范化后的参数Json,同一个方法的调用参数相同则key相同
+ *
+ * @author Val Song
+ */
+public class SwaggerResultCache {
+
+    /**
+     * 有效期(纳秒),小于等于0时不过期
+     */
+    private final long ttlNanos;
+
+    /**
+     * 最多缓存的结果数
+     */
+    private final int maxSize;
+
+    /**
+     * 按访问顺序排列的结果,所有访问都需要持有锁
+     */
+    private final LinkedHashMap<String, Entry> entries;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    public SwaggerResultCache(long ttlNanos, int maxSize) {
+        this.ttlNanos = ttlNanos;
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 2380960227815413384L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > SwaggerResultCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 根据注解创建缓存
+     *
+     * @param cacheable
+     * @return
+     */
+    public static SwaggerResultCache of(SwaggerCacheable cacheable) {
+        return new SwaggerResultCache(cacheable.timeUnit().toNanos(cacheable.ttl()), Math.max(1, cacheable.maxSize()));
+    }
+
+    /**
+     * 获取缓存的结果,不存在或已过期时调用loader并缓存其结果,loader抛出异常时不缓存
+     *
+     * @param key
+     * @param loader
+     * @return
+     */
+    public Object get(String key, Supplier<Object> loader) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry != null && entry.isExpired(System.nanoTime())) {
+                entries.remove(key);
+                entry = null;
+            }
+        }
+        if (entry != null) {
+            hits.increment();
+            return entry.value;
+        }
+
+        misses.increment();
+        Object value = loader.get();
+        long expireAt = ttlNanos > 0 ? System.nanoTime() + ttlNanos : Long.MAX_VALUE;
+        synchronized (entries) {
+            entries.put(key, new Entry(value, expireAt));
+        }
+        return value;
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * 缓存的结果,null也会被缓存
+     */
+    private static class Entry {
+
+        private final Object value;
+
+        private final long expireAt;
+
+        Entry(Object value, long expireAt) {
+            this.value = value;
+            this.expireAt = expireAt;
+        }
+
+        boolean isExpired(long now) {
+            return expireAt != Long.MAX_VALUE && now - expireAt >= 0;
+        }
+    }
+
+}
@@ -0,0 +1,322 @@
+package com.valsong.swagger.support;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.jar.JarEntry;
+
+/**
+ * 保存在磁盘上的扫描结果快照
+ * <p>
+ * 按 扫描的注解 + 类 保存标有注解的方法的签名,并记录该类及其父类、接口的class文件指纹,
+ * 指纹只使用jar目录或者文件系统中的元数据,不读取字节码,JDK和框架中的父类、接口不计入;
+ * 启动时指纹未变化的类直接使用快照中的方法,不再反射遍历所有方法和注解;
+ * 没有class文件的类(如运行时生成的代理类)不使用快照
+ *
+ * @author Val Song
+ */
+public class SwaggerScanSnapshot {
+
+    private static final Logger logger = LoggerFactory.getLogger(SwaggerScanSnapshot.class);
+
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
+
+    /**
+     * 快照格式的版本,格式变化时旧快照失效
+     */
+    private static final int FORMAT_VERSION = 3;
+
+    private static final String CLASS_FILE_SUFFIX = ".class";
+
+    private static final String FILE_PROTOCOL = "file";
+
+    /**
+     * 不计入指纹的JDK和框架的包,只列出依赖的框架自身的包,
+     * 不使用com.google.、org.apache.这样的组织前缀,用户的代码也可能在这些包下
+     */
+    private static final String[] FRAMEWORK_PACKAGES = {"java.", "javax.", "jdk.", "sun.", "com.sun.",
+            "org.springframework.", "springfox.", "io.swagger.", "com.google.gson.", "com.google.common.",
+            "org.apache.commons.", "org.apache.catalina.", "org.apache.coyote.", "org.apache.tomcat.",
+            "net.bytebuddy.", "javassist.", "com.fasterxml.", "org.slf4j.", "ch.qos.logback.", "io.micrometer."};
+
+    private final Path file;
+
+    /**
+     * 注解.类 -> 该类的扫描结果
+     */
+    private final Map<String, ClassEntry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * 本次启动是否有新的扫描结果
+     */
+    private volatile boolean dirty;
+
+    public SwaggerScanSnapshot(Path file) {
+        this.file = file;
+        load();
+    }
+
+    /**
+     * 获取类中标有注解的方法,字节码未变化时使用快照,否则使用scanner扫描并记录到快照中
+     *
+     * @param annotationClazz 扫描的注解
+     * @param clazz           扫描的类
+     * @param scanner         扫描标有注解的方法
+     * @param <A>
+     * @return
+     */
+    public <A extends Annotation> List<Method> annotatedMethods(Class<A> annotationClazz, Class<?> clazz,
+                                                                BiFunction<Class<A>, Class<?>, List<Method>> scanner) {
+        String fingerprint = fingerprint(clazz);
+        if (fingerprint == null) {
+            return scanner.apply(annotationClazz, clazz);
+        }
+
+        String key = annotationClazz.getName() + "|" + clazz.getName();
+        ClassEntry entry = entries.get(key);
+        if (entry != null && fingerprint.equals(entry.fingerprint)) {
+            List<Method> methods = resolve(entry, clazz);
+            if (methods != null) {
+                return methods;
+            }
+        }
+
+        List<Method> methods = scanner.apply(annotationClazz, clazz);
+        entries.put(key, ClassEntry.of(fingerprint, methods));
+        dirty = true;
+        return methods;
+    }
+
+    /**
+     * 有新的扫描结果时写入磁盘,先写临时文件再替换,写入失败不影响启动
+     */
+    public void save() {
+        if (!dirty) {
+            return;
+        }
+        dirty = false;
+        Snapshot snapshot = new Snapshot();
+        snapshot.version = FORMAT_VERSION;
+        snapshot.classes = new TreeMap<>(entries);
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Path tmp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+            try (Writer writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                GSON.toJson(snapshot, writer);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.info("swagger scan snapshot saved to {}, {} classes.", file, entries.size());
+        } catch (IOException | RuntimeException e) {
+            logger.warn("swagger scan snapshot save to " + file + " failed!", e);
+        }
+    }
+
+    /**
+     * 读取快照,文件不存在、格式错误或版本不一致时忽略
+     */
+    private void load() {
+        if (!Files.isRegularFile(file)) {
+            return;
+        }
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            Snapshot snapshot = GSON.fromJson(reader, Snapshot.class);
+            if (snapshot != null && snapshot.version == FORMAT_VERSION && snapshot.classes != null) {
+                entries.putAll(snapshot.classes);
+                logger.info("swagger scan snapshot loaded from {}, {} classes.", file, entries.size());
+            }
+        } catch (IOException | JsonParseException e) {
+            logger.warn("swagger scan snapshot load from " + file + " failed, ignored.", e);
+        }
+    }
+
+    /**
+     * 将快照中的签名还原为Method
+     *
+     * @param entry
+     * @param clazz
+     * @return 有方法无法还原时返回null
+     */
+    private static List<Method> resolve(ClassEntry entry, Class<?> clazz) {
+        ClassLoader classLoader = clazz.getClassLoader();
+        List<Method> methods = new ArrayList<>(entry.methods.size());
+        try {
+            for (MethodEntry methodEntry : entry.methods) {
+                Class<?> declaringClass = ClassUtils.forName(methodEntry.declaringClass, classLoader);
+                Class<?>[] parameterTypes = new Class<?>[methodEntry.parameterTypes.length];
+                for (int i = 0; i < parameterTypes.length; i++) {
+                    parameterTypes[i] = ClassUtils.forName(methodEntry.parameterTypes[i], classLoader);
+                }
+                methods.add(declaringClass.getDeclaredMethod(methodEntry.name, parameterTypes));
+            }
+        } catch (ClassNotFoundException | NoSuchMethodException | LinkageError e) {
+            logger.debug("swagger scan snapshot of {} is stale.", clazz, e);
+            return null;
+        }
+        return methods;
+    }
+
+    /**
+     * 类及其父类、接口的class文件指纹,不读取字节码
+     * <p>
+     * jar中的class使用jar目录中记录的大小和CRC,目录中的class使用文件大小和修改时间;
+     * JDK和框架中的类不计入
+     *
+     * @param clazz
+     * @return 有类找不到class文件时返回null
+     */
+    static String fingerprint(Class<?> clazz) {
+        if (clazz.getClassLoader() == null) {
+            return null;
+        }
+        //扫描的类本身总是计入,父类、接口只计入用户代码
+        Set<Class<?>> hierarchy = new LinkedHashSet<>();
+        hierarchy.add(clazz);
+        collectHierarchy(clazz.getSuperclass(), hierarchy);
+        Arrays.asList(clazz.getInterfaces()).forEach(type -> collectHierarchy(type, hierarchy));
+        StringBuilder fingerprint = new StringBuilder();
+        for (Class<?> type : hierarchy) {
+            String resource = type.getName().replace('.', '/') + CLASS_FILE_SUFFIX;
+            URL url = type.getClassLoader().getResource(resource);
+            String classFileFingerprint = url == null ? null : classFileFingerprint(url);
+            if (classFileFingerprint == null) {
+                return null;
+            }
+            fingerprint.append(type.getName()).append('@').append(classFileFingerprint).append(';');
+        }
+        return fingerprint.toString();
+    }
+
+    /**
+     * class文件的大小和CRC或者修改时间
+     *
+     * @param url
+     * @return 无法获取时返回null
+     */
+    private static String classFileFingerprint(URL url) {
+        try {
+            if (FILE_PROTOCOL.equals(url.getProtocol())) {
+                Path path = Paths.get(url.toURI());
+                return Files.size(path) + ":" + Files.getLastModifiedTime(path).toMillis();
+            }
+            URLConnection connection = url.openConnection();
+            if (connection instanceof JarURLConnection) {
+                JarEntry jarEntry = ((JarURLConnection) connection).getJarEntry();
+                //CRC由内容决定,使用固定时间戳的可重复构建也能识别变化
+                long crc = jarEntry.getCrc();
+                return jarEntry.getSize() + ":" + (crc != -1 ? Long.toHexString(crc) : jarEntry.getTime());
+            }
+        } catch (IOException | URISyntaxException | RuntimeException e) {
+            logger.debug("fingerprint of " + url + " failed.", e);
+        }
+        return null;
+    }
+
+    /**
+     * 父类、接口及其所有父类、接口,不包括JDK和框架中的类,这些类不会标有用户扫描的注解
+     *
+     * @param clazz
+     * @param hierarchy
+     */
+    private static void collectHierarchy(Class<?> clazz, Set<Class<?>> hierarchy) {
+        if (clazz == null || clazz.getClassLoader() == null || isFrameworkClass(clazz.getName()) || !hierarchy.add(clazz)) {
+            return;
+        }
+        collectHierarchy(clazz.getSuperclass(), hierarchy);
+        Arrays.asList(clazz.getInterfaces()).forEach(type -> collectHierarchy(type, hierarchy));
+    }
+
+    /**
+     * 是否是JDK或者框架中的类
+     *
+     * @param name 类名
+     * @return
+     */
+    static boolean isFrameworkClass(String name) {
+        for (String frameworkPackage : FRAMEWORK_PACKAGES) {
+            if (name.startsWith(frameworkPackage)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 快照文件
+     */
+    private static class Snapshot {
+
+        private int version;
+
+        private Map<String, ClassEntry> classes;
+    }
+
+    /**
+     * 一个类的扫描结果
+     */
+    private static class ClassEntry {
+
+        private String fingerprint;
+
+        private List<MethodEntry> methods;
+
+        static ClassEntry of(String fingerprint, List<Method> methods) {
+            ClassEntry entry = new ClassEntry();
+            entry.fingerprint = fingerprint;
+            entry.methods = new ArrayList<>(methods.size());
+            methods.forEach(method -> entry.methods.add(MethodEntry.of(method)));
+            return entry;
+        }
+    }
+
+    /**
+     * 方法签名
+     */
+    private static class MethodEntry {
+
+        private String declaringClass;
+
+        private String name;
+
+        private String[] parameterTypes;
+
+        static MethodEntry of(Method method) {
+            MethodEntry entry = new MethodEntry();
+            entry.declaringClass = method.getDeclaringClass().getName();
+            entry.name = method.getName();
+            entry.parameterTypes = Arrays.stream(method.getParameterTypes()).map(Class::getName)
+                    .toArray(String[]::new);
+            return entry;
+        }
+    }
+
+}
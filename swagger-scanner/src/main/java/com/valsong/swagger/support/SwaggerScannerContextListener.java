@@ -0,0 +1,130 @@
+package com.valsong.swagger.support;
+
+import com.valsong.swagger.model.SwaggerApiProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.ApplicationContextEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.ContextRefreshedEvent;
+import springfox.documentation.spring.web.plugins.DocumentationPluginsBootstrapper;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 监听context的关闭和刷新,子context的事件也会传递到这里
+ * <p>
+ * context关闭时移除其中的bean注册的方法,刷新后执行延迟的扫描,重新冻结已经注册的方法,保存扫描结果快照并清理参数class的磁盘缓存
+ * <p>
+ * springfox只在启动时生成一次文档,之后注册或者移除了SwaggerApiProperty时重新执行springfox的扫描,
+ * springfox没有提供只扫描一个Docket的方法,所有Docket都会重新生成,
+ * 其中SwaggerApiDescriptionProvider只解析新注册的方法,重新生成期间文档暂时不可用
+ *
+ * @author Val Song
+ */
+public class SwaggerScannerContextListener implements ApplicationListener<ApplicationContextEvent> {
+
+    private static final Logger logger = LoggerFactory.getLogger(SwaggerScannerContextListener.class);
+
+    private SwaggerApiRegistry swaggerApiRegistry;
+
+    /**
+     * 没有springfox的bootstrapper时为null,不刷新文档
+     */
+    private DocumentationPluginsBootstrapper documentationPluginsBootstrapper;
+
+    /**
+     * 最近一次生成文档时的SwaggerApiProperty,没有新的注册时registry返回同一个副本
+     */
+    private List<SwaggerApiProperty> documented;
+
+    public SwaggerScannerContextListener(SwaggerApiRegistry swaggerApiRegistry) {
+        this(swaggerApiRegistry, null);
+    }
+
+    public SwaggerScannerContextListener(SwaggerApiRegistry swaggerApiRegistry,
+                                         DocumentationPluginsBootstrapper documentationPluginsBootstrapper) {
+        this.swaggerApiRegistry = swaggerApiRegistry;
+        this.documentationPluginsBootstrapper = documentationPluginsBootstrapper;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationContextEvent event) {
+        if (event instanceof ContextClosedEvent) {
+            removeBeansOf(event.getApplicationContext());
+            //根context关闭时不再需要文档
+            if (event.getApplicationContext().getParent() != null) {
+                refreshDocumentation();
+            }
+        } else if (event instanceof ContextRefreshedEvent) {
+            //子context或者之后创建的bean的延迟扫描
+            swaggerApiRegistry.runDeferredScans();
+            swaggerApiRegistry.freeze();
+            SwaggerScanSnapshot scanSnapshot = swaggerApiRegistry.getScanSnapshot();
+            if (scanSnapshot != null) {
+                scanSnapshot.save();
+            }
+            //springfox启动时已经生成了参数class
+            SwaggerExampleClassCache exampleClassCache = swaggerApiRegistry.getExampleClassCache();
+            if (exampleClassCache != null) {
+                exampleClassCache.prune();
+            }
+            refreshDocumentation();
+        }
+    }
+
+    /**
+     * SwaggerApiProperty在上一次生成文档后有变化时重新生成文档,
+     * 第一次刷新时springfox刚刚生成过文档,只记录当前的SwaggerApiProperty
+     */
+    private synchronized void refreshDocumentation() {
+        if (documentationPluginsBootstrapper == null) {
+            return;
+        }
+        List<SwaggerApiProperty> current = swaggerApiRegistry.getAllSwaggerApiProperties();
+        if (current == documented) {
+            return;
+        }
+        if (documented != null && documentationPluginsBootstrapper.isRunning()) {
+            logger.info("swagger api properties changed, rescan documentation.");
+            documentationPluginsBootstrapper.stop();
+            documentationPluginsBootstrapper.start();
+        }
+        documented = current;
+    }
+
+    /**
+     * 移除关闭的context中的bean注册的方法,只移除实例相同的bean,其他context中的同名bean不受影响
+     *
+     * @param applicationContext
+     */
+    private void removeBeansOf(ApplicationContext applicationContext) {
+        if (!(applicationContext instanceof ConfigurableApplicationContext)) {
+            return;
+        }
+        ConfigurableListableBeanFactory beanFactory =
+                ((ConfigurableApplicationContext) applicationContext).getBeanFactory();
+
+        //beanName -> 关闭的context中的实例
+        Map<String, Object> beans = new HashMap<>();
+        swaggerApiRegistry.getAllTriggerMethods().values().forEach(methodProperty -> {
+            String beanName = methodProperty.getBeanName();
+            if (beanName != null && beanFactory.containsSingleton(beanName)
+                    && beanFactory.getSingleton(beanName) == methodProperty.getInstance()) {
+                beans.put(beanName, methodProperty.getInstance());
+            }
+        });
+
+        beans.forEach((beanName, bean) -> {
+            logger.info("context: {} closed, swagger methods of bean: {} are removed.",
+                    applicationContext.getId(), beanName);
+            swaggerApiRegistry.removeBean(beanName, bean);
+        });
+    }
+
+}
@@ -0,0 +1,355 @@
+package com.valsong.swagger.support;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSerializer;
+import com.google.gson.stream.JsonReader;
+import com.valsong.swagger.configuration.SwaggerScannerProperties;
+import com.valsong.swagger.exception.SwaggerScannerException;
+import com.valsong.swagger.model.MethodProperty;
+import com.valsong.swagger.util.MethodInvokerBuilder;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.sql.Timestamp;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * 执行页面触发的方法
+ *
+ * @author Val Song
+ */
+
+public class SwaggerScannerInvoker {
+
+    private static final Gson GSON = new GsonBuilder().setDateFormat("yyyy-MM-dd HH:mm:ss").create();
+
+    /**
+     * 生成缓存和合并调用的key,时间不能按GSON的格式只保留到秒,否则只有毫秒不同的参数会得到相同的key
+     */
+    private static final Gson KEY_GSON = new GsonBuilder()
+            .registerTypeHierarchyAdapter(Date.class, (JsonSerializer<Date>) (src, typeOfSrc, context) -> {
+                if (src instanceof Timestamp) {
+                    return new JsonPrimitive(src.getTime() + "." + ((Timestamp) src).getNanos());
+                }
+                return new JsonPrimitive(src.getTime());
+            })
+            .registerTypeHierarchyAdapter(Calendar.class, (JsonSerializer<Calendar>) (src, typeOfSrc, context) ->
+                    new JsonPrimitive(src.getTimeInMillis() + "@" + src.getTimeZone().getID()))
+            .create();
+
+    private static volatile SwaggerApiRegistry swaggerApiRegistry;
+
+    /**
+     * 合并相同的并发调用,未开启时为null
+     */
+    private static volatile SwaggerSingleFlight<InvokeKey> singleFlight;
+
+    /**
+     * 创建时使用的registry
+     */
+    private final SwaggerApiRegistry registry;
+
+    public SwaggerScannerInvoker(SwaggerApiRegistry swaggerApiRegistry) {
+        this(swaggerApiRegistry, new SwaggerScannerProperties());
+    }
+
+    public SwaggerScannerInvoker(SwaggerApiRegistry swaggerApiRegistry, SwaggerScannerProperties properties) {
+        this.registry = swaggerApiRegistry;
+        SwaggerScannerInvoker.swaggerApiRegistry = swaggerApiRegistry;
+        SwaggerScannerInvoker.singleFlight = properties.isSingleFlight() ? new SwaggerSingleFlight<>() : null;
+    }
+
+    /**
+     * 释放静态引用的registry,context关闭时调用,之后registry和其中生成的class可以被回收
+     * 已经被其他context的invoker替换时不释放
+     */
+    public void close() {
+        synchronized (SwaggerScannerInvoker.class) {
+            if (SwaggerScannerInvoker.swaggerApiRegistry == registry) {
+                SwaggerScannerInvoker.swaggerApiRegistry = null;
+                SwaggerScannerInvoker.singleFlight = null;
+            }
+        }
+    }
+
+    /**
+     * 根据方法名称和josn调用
+     *
+     * @param methodName
+     * @param json
+     * @return
+     */
+    public static Object invoke(String methodName, String json) {
+        return invoke(methodName, new StringReader(json == null ? "" : json));
+    }
+
+    /**
+     * 根据方法名称和请求体调用,请求体只会被读取一遍
+     *
+     * @param methodName
+     * @param reader
+     * @return
+     */
+    public static Object invoke(String methodName, Reader reader) {
+
+        MethodProperty methodProperty = getTriggerMethod(methodName);
+
+        Object[] params = bind(methodProperty, reader);
+
+        return invoke(methodProperty, params);
+    }
+
+    /**
+     * 获取需要调用的方法
+     *
+     * @param methodName
+     * @return
+     */
+    public static MethodProperty getTriggerMethod(String methodName) {
+        MethodProperty methodProperty = registry().getTriggerMethod(methodName);
+        if (methodProperty == null) {
+            throw new SwaggerScannerException("swagger method: " + methodName + " not found!");
+        }
+        return methodProperty;
+    }
+
+    /**
+     * 根据endpointId获取需要调用的方法
+     *
+     * @param endpointId
+     * @return
+     */
+    public static MethodProperty getTriggerMethod(int endpointId) {
+        MethodProperty methodProperty = registry().getTriggerMethod(endpointId);
+        if (methodProperty == null) {
+            throw new SwaggerScannerException("swagger endpointId: " + endpointId + " not found!");
+        }
+        return methodProperty;
+    }
+
+    /**
+     * 所有方法名称对应的endpointId
+     *
+     * @return
+     */
+    public static Map<String, Integer> getEndpointIds() {
+        return registry().getEndpointIds();
+    }
+
+    /**
+     * 当前使用的registry
+     *
+     * @return
+     */
+    private static SwaggerApiRegistry registry() {
+        SwaggerApiRegistry current = swaggerApiRegistry;
+        if (current == null) {
+            throw new SwaggerScannerException("swagger api registry is not initialized or already closed!");
+        }
+        return current;
+    }
+
+    /**
+     * 从请求体中读取方法参数
+     *
+     * @param methodProperty
+     * @param reader
+     * @return
+     */
+    public static Object[] bind(MethodProperty methodProperty, Reader reader) {
+        return bind(methodProperty, new JsonReader(reader));
+    }
+
+    /**
+     * 从已经解析好的Json中读取方法参数
+     *
+     * @param methodProperty
+     * @param json
+     * @return
+     */
+    public static Object[] bind(MethodProperty methodProperty, JsonElement json) {
+        try {
+            return parameterBinder(methodProperty).bind(GSON, json);
+        } catch (JsonParseException e) {
+            throw new SwaggerScannerException("swagger bind parameters failed!", e);
+        }
+    }
+
+    /**
+     * 读取方法参数
+     *
+     * @param methodProperty
+     * @param jsonReader
+     * @return
+     */
+    private static Object[] bind(MethodProperty methodProperty, JsonReader jsonReader) {
+        try {
+            return parameterBinder(methodProperty).bind(GSON, jsonReader);
+        } catch (IOException | JsonParseException e) {
+            throw new SwaggerScannerException("swagger bind parameters failed!", e);
+        }
+    }
+
+    /**
+     * 获取方法的参数绑定器,没有预先生成的临时生成
+     *
+     * @param methodProperty
+     * @return
+     */
+    private static SwaggerParameterBinder parameterBinder(MethodProperty methodProperty) {
+        SwaggerParameterBinder parameterBinder = methodProperty.getParameterBinder();
+        return parameterBinder != null ? parameterBinder : SwaggerParameterBinder.build(methodProperty.getMethod());
+    }
+
+    /**
+     * 使用已经绑定好的参数调用方法,命中缓存和共享其他调用结果的调用同样记录调用次数和耗时
+     *
+     * @param methodProperty
+     * @param params
+     * @return
+     */
+    public static Object invoke(MethodProperty methodProperty, Object[] params) {
+        MethodMetrics metrics = methodProperty.getMetrics();
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            Object returnVal = cachedInvoke(methodProperty, params);
+            success = true;
+            return returnVal;
+        } finally {
+            if (metrics != null) {
+                metrics.recordInvocation(System.nanoTime() - start, success);
+            }
+        }
+    }
+
+    /**
+     * 可缓存的方法先读取缓存
+     *
+     * @param methodProperty
+     * @param params
+     * @return
+     */
+    private static Object cachedInvoke(MethodProperty methodProperty, Object[] params) {
+        SwaggerResultCache resultCache = methodProperty.getResultCache();
+        if (resultCache == null && singleFlight == null) {
+            return doInvoke(methodProperty, params);
+        }
+
+        //缓存和合并调用都以规范化后的参数Json作为key
+        String paramsJson = canonicalJson(params);
+        if (resultCache != null) {
+            return resultCache.get(paramsJson, () -> coalesce(methodProperty, paramsJson, params));
+        }
+        return coalesce(methodProperty, paramsJson, params);
+    }
+
+    /**
+     * 开启single flight时合并相同的并发调用
+     *
+     * @param methodProperty
+     * @param paramsJson
+     * @param params
+     * @return
+     */
+    private static Object coalesce(MethodProperty methodProperty, String paramsJson, Object[] params) {
+        SwaggerSingleFlight<InvokeKey> flight = singleFlight;
+        if (flight == null) {
+            return doInvoke(methodProperty, params);
+        }
+        MethodMetrics metrics = methodProperty.getMetrics();
+        return flight.execute(new InvokeKey(methodProperty, paramsJson), () -> doInvoke(methodProperty, params),
+                metrics == null ? null : metrics::recordShared);
+    }
+
+    /**
+     * 调用方法
+     *
+     * @param methodProperty
+     * @param params
+     * @return
+     */
+    private static Object doInvoke(MethodProperty methodProperty, Object[] params) {
+
+        //没有预先生成调用器的使用反射调用
+        MethodInvoker invoker = methodProperty.getInvoker();
+        if (invoker == null) {
+            invoker = MethodInvokerBuilder.reflective(methodProperty.getInstance(), methodProperty.getMethod());
+        }
+
+        try {
+            return invoker.invoke(params);
+        } catch (Throwable e) {
+            throw new SwaggerScannerException("swagger invoke failed!", e);
+        }
+    }
+
+    /**
+     * 规范化后的参数Json,对象的属性按名称排序,Map参数的遍历顺序不影响结果,
+     * 时间以毫秒数表示,不丢失精度
+     *
+     * @param params
+     * @return
+     */
+    static String canonicalJson(Object[] params) {
+        return KEY_GSON.toJson(sorted(KEY_GSON.toJsonTree(params)));
+    }
+
+    private static JsonElement sorted(JsonElement json) {
+        if (json.isJsonArray()) {
+            JsonArray sortedArray = new JsonArray();
+            json.getAsJsonArray().forEach(element -> sortedArray.add(sorted(element)));
+            return sortedArray;
+        }
+        if (json.isJsonObject()) {
+            JsonObject sortedObject = new JsonObject();
+            json.getAsJsonObject().entrySet().stream()
+                    .sorted(Map.Entry.comparingByKey())
+                    .forEach(entry -> sortedObject.add(entry.getKey(), sorted(entry.getValue())));
+            return sortedObject;
+        }
+        return json;
+    }
+
+    /**
+     * 合并调用的key,即方法和规范化后的参数Json
+     */
+    private static class InvokeKey {
+
+        private final MethodProperty methodProperty;
+
+        private final String paramsJson;
+
+        InvokeKey(MethodProperty methodProperty, String paramsJson) {
+            this.methodProperty = methodProperty;
+            this.paramsJson = paramsJson;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof InvokeKey)) {
+                return false;
+            }
+            InvokeKey that = (InvokeKey) o;
+            return methodProperty == that.methodProperty && paramsJson.equals(that.paramsJson);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(methodProperty) + paramsJson.hashCode();
+        }
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.valsong.swagger.support;
+
+import org.springframework.context.SmartLifecycle;
+import springfox.documentation.service.Tag;
+import springfox.documentation.spring.web.plugins.Docket;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+ * 扫描swagger后需要初始化的内容
+ *
+ * @author: Val Song
+ */
+public class SwaggerScannerPluginsBootstrapper implements SmartLifecycle {
+
+    private SwaggerApiRegistry swaggerApiRegistry;
+
+    /**
+     * Docket分组 -> Docket
+     */
+    private Map<String, Docket> dockets;
+
+    public SwaggerScannerPluginsBootstrapper(Docket docket, SwaggerApiRegistry swaggerApiRegistry) {
+        this(Collections.singletonMap(SwaggerDocketRouter.DEFAULT_GROUP, docket), swaggerApiRegistry);
+    }
+
+    public SwaggerScannerPluginsBootstrapper(Map<String, Docket> dockets, SwaggerApiRegistry swaggerApiRegistry) {
+        this.dockets = dockets;
+        this.swaggerApiRegistry = swaggerApiRegistry;
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return true;
+    }
+
+    @Override
+    public void stop(Runnable callback) {
+
+    }
+
+    @Override
+    public void start() {
+        //所有bean已经创建完成,在swagger生成文档之前执行延迟的扫描
+        swaggerApiRegistry.runDeferredScans();
+        registerTags();
+        //启动完成,冻结已经注册的方法
+        swaggerApiRegistry.freeze();
+    }
+
+    /**
+     * 给指定的docket添加tags,每个docket只添加其分组的方法使用的tags
+     */
+    private void registerTags() {
+        if (dockets.size() == 1) {
+            Docket docket = dockets.values().iterator().next();
+            swaggerApiRegistry.getAllTags().forEach(docket::tags);
+            return;
+        }
+        dockets.forEach((group, docket) -> {
+            Set<Tag> tags = swaggerApiRegistry.getTags(group);
+            tags.forEach(docket::tags);
+        });
+    }
+
+    @Override
+    public void stop() {
+
+    }
+
+    @Override
+    public boolean isRunning() {
+        return false;
+    }
+
+    @Override
+    public int getPhase() {
+        return -1;
+    }
+
+}
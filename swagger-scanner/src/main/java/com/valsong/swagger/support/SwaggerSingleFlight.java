@@ -0,0 +1,75 @@
+package com.valsong.swagger.support;
+
+import com.valsong.swagger.exception.SwaggerScannerException;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 合并相同的并发调用,同一时刻key相同的调用只会执行一次,其他调用等待并共享其结果或异常
+ * <p>
+ * 执行结束后立即移除,不会缓存结果
+ *
+ * @author Val Song
+ */
+public class SwaggerSingleFlight<K> {
+
+    /**
+     * 正在执行的调用
+     */
+    private final Map<K, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * 执行调用,已经有相同key的调用在执行时等待其结果
+     *
+     * @param key
+     * @param supplier
+     * @param onShared 共享了其他调用的结果时回调,可以为null
+     * @return
+     */
+    public Object execute(K key, Supplier<Object> supplier, Runnable onShared) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            if (onShared != null) {
+                onShared.run();
+            }
+            return join(existing);
+        }
+        try {
+            Object value = supplier.get();
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * 等待其他调用的结果,抛出与其相同的异常
+     *
+     * @param future
+     * @return
+     */
+    private static Object join(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new SwaggerScannerException("swagger invoke failed!", cause);
+        }
+    }
+
+}
@@ -0,0 +1,173 @@
+package com.valsong.swagger.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 无锁的分桶直方图,用于统计耗时和字节数等非负整数
+ * <p>
+ * 按2的幂划分区间,每个区间再等分为2^subBucketBits个桶,相对误差不超过1/2^subBucketBits,
+ * 桶在第一次记录时才分配,没有调用过的方法不占用桶的内存;
+ * 记录时只有原子自增,不会加锁
+ *
+ * @author Val Song
+ */
+public class LongHistogram {
+
+    /**
+     * 默认每个2的幂区间内的桶数的位数,相对误差不超过1/16
+     */
+    public static final int DEFAULT_SUB_BUCKET_BITS = 4;
+
+    private static final AtomicReferenceFieldUpdater<LongHistogram, AtomicLongArray> BUCKETS_UPDATER =
+            AtomicReferenceFieldUpdater.newUpdater(LongHistogram.class, AtomicLongArray.class, "buckets");
+
+    /**
+     * 每个2的幂区间内的桶数的位数
+     */
+    private final int subBucketBits;
+
+    /**
+     * 第一次记录时分配
+     */
+    private volatile AtomicLongArray buckets;
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder sum = new LongAdder();
+
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+    public LongHistogram() {
+        this(DEFAULT_SUB_BUCKET_BITS);
+    }
+
+    /**
+     * @param subBucketBits 每个2的幂区间内的桶数的位数,0~8,越小占用的内存越少、误差越大
+     */
+    public LongHistogram(int subBucketBits) {
+        if (subBucketBits < 0 || subBucketBits > 8) {
+            throw new IllegalArgumentException("subBucketBits must be between 0 and 8 but was " + subBucketBits);
+        }
+        this.subBucketBits = subBucketBits;
+    }
+
+    /**
+     * 记录一个值,负数按0记录
+     *
+     * @param value
+     */
+    public void record(long value) {
+        long v = Math.max(0L, value);
+        AtomicLongArray current = buckets;
+        if (current == null) {
+            BUCKETS_UPDATER.compareAndSet(this, null, new AtomicLongArray(bucketCount(subBucketBits)));
+            current = buckets;
+        }
+        current.incrementAndGet(bucketIndex(v, subBucketBits));
+        count.increment();
+        sum.add(v);
+        max.accumulate(v);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getSum() {
+        return sum.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * 平均值
+     *
+     * @return
+     */
+    public double getMean() {
+        long n = getCount();
+        return n == 0 ? 0D : (double) getSum() / n;
+    }
+
+    /**
+     * 百分位数,返回所在桶的上界,不超过记录到的最大值
+     * <p>
+     * 直接遍历桶,不复制;遍历期间的并发记录最多使结果偏向较小的桶
+     *
+     * @param percentile 0~1
+     * @return
+     */
+    public long getPercentile(double percentile) {
+        AtomicLongArray current = buckets;
+        if (current == null) {
+            return 0L;
+        }
+        int length = current.length();
+        long total = 0;
+        for (int i = 0; i < length; i++) {
+            total += current.get(i);
+        }
+        if (total == 0) {
+            return 0L;
+        }
+        long rank = Math.max(1L, (long) Math.ceil(percentile * total));
+        long seen = 0;
+        for (int i = 0; i < length; i++) {
+            seen += current.get(i);
+            if (seen >= rank) {
+                return Math.min(bucketUpperBound(i, subBucketBits), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * 桶的总数,可以覆盖所有非负的long
+     *
+     * @param subBucketBits
+     * @return
+     */
+    static int bucketCount(int subBucketBits) {
+        return (Long.SIZE - subBucketBits) << subBucketBits;
+    }
+
+    /**
+     * 值所在的桶
+     *
+     * @param value         非负数
+     * @param subBucketBits
+     * @return
+     */
+    static int bucketIndex(long value, int subBucketBits) {
+        int subBuckets = 1 << subBucketBits;
+        if (value < subBuckets) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - subBucketBits)) & (subBuckets - 1);
+        return ((exponent - subBucketBits + 1) << subBucketBits) + subBucket;
+    }
+
+    /**
+     * 桶中的最大值
+     *
+     * @param index
+     * @param subBucketBits
+     * @return
+     */
+    static long bucketUpperBound(int index, int subBucketBits) {
+        int subBuckets = 1 << subBucketBits;
+        if (index < subBuckets) {
+            return index;
+        }
+        int shift = (index >> subBucketBits) - 1;
+        long lowerBound = (long) (subBuckets + (index & (subBuckets - 1))) << shift;
+        return lowerBound + (1L << shift) - 1;
+    }
+
+}
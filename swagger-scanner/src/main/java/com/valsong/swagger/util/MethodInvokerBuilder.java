@@ -0,0 +1,84 @@
+package com.valsong.swagger.util;
+
+import com.valsong.swagger.support.MethodInvoker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Objects;
+
+/**
+ * 根据bean和方法生成MethodInvoker
+ * <p>
+ * 优先使用MethodHandle直接调用，无法生成MethodHandle时退化为反射调用
+ *
+ * @author Val Song
+ */
+public final class MethodInvokerBuilder {
+
+    private static final Logger logger = LoggerFactory.getLogger(MethodInvokerBuilder.class);
+
+    /**
+     * 所有invoker统一的调用签名 (Object[])Object
+     */
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object[].class);
+
+    private MethodInvokerBuilder() {
+    }
+
+    /**
+     * 生成MethodInvoker
+     *
+     * @param instance 执行方法的bean，静态方法可以为null
+     * @param method   方法
+     * @return
+     */
+    public static MethodInvoker build(Object instance, Method method) {
+
+        Objects.requireNonNull(method, "method can't be null!");
+
+        method.setAccessible(true);
+
+        try {
+            MethodHandle handle = MethodHandles.lookup().unreflect(method);
+
+            if (!Modifier.isStatic(method.getModifiers())) {
+                handle = handle.bindTo(instance);
+            }
+
+            final MethodHandle invoker = handle.asSpreader(Object[].class, method.getParameterCount())
+                    .asType(INVOKER_TYPE);
+
+            return args -> (Object) invoker.invokeExact(args);
+
+        } catch (IllegalAccessException | RuntimeException e) {
+            logger.warn("method: {} can't be invoked by MethodHandle, fallback to reflection. cause: {}", method,
+                    e.getMessage());
+            return reflective(instance, method);
+        }
+    }
+
+    /**
+     * 使用反射调用方法
+     *
+     * @param instance
+     * @param method
+     * @return
+     */
+    public static MethodInvoker reflective(Object instance, Method method) {
+        method.setAccessible(true);
+        return args -> {
+            try {
+                return method.invoke(instance, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        };
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.valsong.swagger.util;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 每个类的public方法的重载序号,每个类只计算一次
+ * <p>
+ * 序号在bean的类的全部public方法中计算,包括从父类和接口继承的方法,
+ * 父类和子类中声明的同名方法不会得到相同的序号。桥接方法和合成方法不参与计算
+ * <p>
+ * 同名方法按参数类型名称排序,序号不依赖{@link Class#getMethods()}的返回顺序,
+ * 在不同的JVM中保持一致
+ *
+ * @author Val Song
+ */
+public final class MethodOverloadIndex {
+
+    private MethodOverloadIndex() {
+    }
+
+    /**
+     * 同名方法的排序规则
+     */
+    private static final Comparator<Method> OVERLOAD_ORDER = Comparator
+            .comparing(MethodOverloadIndex::parameterTypesKey);
+
+    /**
+     * 方法签名(名称和参数类型)到序号
+     */
+    private static final ClassValue<Map<String, Integer>> ORDINALS = new ClassValue<Map<String, Integer>>() {
+        @Override
+        protected Map<String, Integer> computeValue(Class<?> type) {
+            return computeOrdinals(type);
+        }
+    };
+
+    /**
+     * 方法在bean的类的同名public方法中的序号,从0开始,不是该类的public方法时返回0
+     *
+     * @param method
+     * @param beanClazz bean的类,代理时为被代理的类
+     * @return
+     */
+    public static int ordinal(Method method, Class<?> beanClazz) {
+        Integer ordinal = ORDINALS.get(beanClazz).get(signature(method));
+        return ordinal == null ? 0 : ordinal;
+    }
+
+    /**
+     * 计算类中所有public方法的重载序号,以方法签名为key,
+     * 子类覆盖的父类方法和接口方法只计算一次
+     *
+     * @param type
+     * @return
+     */
+    private static Map<String, Integer> computeOrdinals(Class<?> type) {
+        Map<String, List<Method>> overloads = new HashMap<>();
+        for (Method method : type.getMethods()) {
+            if (method.isBridge() || method.isSynthetic()) {
+                continue;
+            }
+            overloads.computeIfAbsent(method.getName(), name -> new ArrayList<>()).add(method);
+        }
+
+        Map<String, Integer> ordinals = new HashMap<>();
+        for (List<Method> sameNameMethods : overloads.values()) {
+            sameNameMethods.sort(OVERLOAD_ORDER);
+            int ordinal = 0;
+            for (Method method : sameNameMethods) {
+                if (ordinals.putIfAbsent(signature(method), ordinal) == null) {
+                    ordinal++;
+                }
+            }
+        }
+        return ordinals;
+    }
+
+    /**
+     * 方法名称和参数类型
+     *
+     * @param method
+     * @return
+     */
+    private static String signature(Method method) {
+        return method.getName() + '(' + parameterTypesKey(method);
+    }
+
+    /**
+     * 参数类型名称,以逗号分隔
+     *
+     * @param method
+     * @return
+     */
+    private static String parameterTypesKey(Method method) {
+        StringBuilder key = new StringBuilder();
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            key.append(parameterType.getName()).append(',');
+        }
+        return key.toString();
+    }
+
+}
@@ -0,0 +1,163 @@
+package com.valsong.swagger.util;
+
+import java.io.Closeable;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * 由{@link RequestBodyReader}读取的请求体,数据保存在池化的块中
+ * <p>
+ * 解析时直接从块中读取,不会再复制一份完整的请求体
+ *
+ * @author Val Song
+ */
+public class RequestBody implements Closeable {
+
+    private final RequestBodyReader owner;
+
+    /**
+     * 保存请求体的块
+     */
+    private List<byte[]> chunks;
+
+    /**
+     * 请求体的字节数
+     */
+    private int length;
+
+    RequestBody(RequestBodyReader owner, List<byte[]> chunks) {
+        this.owner = owner;
+        this.chunks = chunks;
+    }
+
+    void setLength(int length) {
+        this.length = length;
+    }
+
+    /**
+     * 请求体的字节数
+     *
+     * @return
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * 读取请求体的InputStream
+     *
+     * @return
+     */
+    public InputStream getInputStream() {
+        return new ChunkInputStream();
+    }
+
+    /**
+     * 以UTF-8读取请求体的Reader
+     *
+     * @return
+     */
+    public Reader getReader() {
+        return new InputStreamReader(getInputStream(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 将前maxBytes个字节解码为字符串,截断时退回到完整的UTF-8字符边界
+     *
+     * @param maxBytes
+     * @return
+     */
+    public String toString(int maxBytes) {
+        int size = Math.min(length, maxBytes);
+        byte[] bytes = new byte[size];
+        int copied = 0;
+        for (byte[] chunk : chunks) {
+            if (copied == size) {
+                break;
+            }
+            int n = Math.min(chunk.length, size - copied);
+            System.arraycopy(chunk, 0, bytes, copied, n);
+            copied += n;
+        }
+        int end = size < length ? utf8Boundary(bytes, size) : size;
+        return new String(bytes, 0, end, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 去掉末尾不完整的UTF-8字符
+     *
+     * @param bytes
+     * @param size
+     * @return 最后一个完整字符之后的位置
+     */
+    static int utf8Boundary(byte[] bytes, int size) {
+        //最后一个字符的起始字节,往前最多3个后续字节(10xxxxxx)
+        int start = size - 1;
+        while (start >= 0 && start > size - 4 && (bytes[start] & 0xC0) == 0x80) {
+            start--;
+        }
+        if (start < 0) {
+            return size;
+        }
+        int lead = bytes[start] & 0xFF;
+        int charLength = lead < 0x80 ? 1 : lead >= 0xF0 ? 4 : lead >= 0xE0 ? 3 : lead >= 0xC0 ? 2 : 1;
+        return start + charLength > size ? start : size;
+    }
+
+    @Override
+    public String toString() {
+        return toString(length);
+    }
+
+    /**
+     * 归还所有的块
+     */
+    @Override
+    public void close() {
+        List<byte[]> released = chunks;
+        if (released == null) {
+            return;
+        }
+        chunks = null;
+        released.forEach(owner::release);
+    }
+
+    /**
+     * 依次读取每个块
+     */
+    private class ChunkInputStream extends InputStream {
+
+        private int position;
+
+        @Override
+        public int read() {
+            if (position >= length) {
+                return -1;
+            }
+            byte b = chunks.get(position / RequestBodyReader.CHUNK_SIZE)[position % RequestBodyReader.CHUNK_SIZE];
+            position++;
+            return b & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (position >= length) {
+                return -1;
+            }
+            int offset = position % RequestBodyReader.CHUNK_SIZE;
+            int n = Math.min(len, Math.min(RequestBodyReader.CHUNK_SIZE - offset, length - position));
+            System.arraycopy(chunks.get(position / RequestBodyReader.CHUNK_SIZE), offset, b, off, n);
+            position += n;
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return length - position;
+        }
+    }
+
+}
@@ -0,0 +1,129 @@
+package com.valsong.swagger.util;
+
+import com.valsong.swagger.exception.RequestBodyTooLargeException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 使用池化的byte数组读取请求体
+ * <p>
+ * 请求体按固定大小的块读入,块在{@link RequestBody#close()}时归还到池中,
+ * 超过最大请求体大小时立即停止读取并抛出{@link RequestBodyTooLargeException}
+ *
+ * @author Val Song
+ */
+public class RequestBodyReader {
+
+    /**
+     * 每个块的大小
+     */
+    static final int CHUNK_SIZE = 8 * 1024;
+
+    /**
+     * 池中最多保留的块数,超过的块直接丢弃交给GC
+     */
+    private static final int MAX_POOLED_CHUNKS = 256;
+
+    /**
+     * 允许的最大请求体字节数,不超过Integer.MAX_VALUE,请求体的长度为int
+     */
+    private final long maxBodySize;
+
+    /**
+     * 空闲的块
+     */
+    private final Queue<byte[]> pool = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 池中空闲块的数量
+     */
+    private final AtomicInteger pooledChunks = new AtomicInteger();
+
+    public RequestBodyReader(long maxBodySize) {
+        this.maxBodySize = Math.min(maxBodySize, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 读取请求体,使用完后需要调用{@link RequestBody#close()}归还缓冲区
+     *
+     * @param inputStream
+     * @param contentLength 请求头中的Content-Length,未知时为-1
+     * @return
+     * @throws IOException
+     */
+    public RequestBody read(InputStream inputStream, long contentLength) throws IOException {
+
+        //Content-Length超过限制时不读取请求体
+        if (contentLength > maxBodySize) {
+            throw new RequestBodyTooLargeException(maxBodySize);
+        }
+
+        List<byte[]> chunks = new ArrayList<>();
+        RequestBody body = new RequestBody(this, chunks);
+
+        try {
+            long length = 0;
+            byte[] chunk = null;
+            int offset = CHUNK_SIZE;
+            while (true) {
+                if (offset == CHUNK_SIZE) {
+                    chunk = acquire();
+                    chunks.add(chunk);
+                    offset = 0;
+                }
+                int n = inputStream.read(chunk, offset, CHUNK_SIZE - offset);
+                if (n < 0) {
+                    break;
+                }
+                offset += n;
+                length += n;
+                if (length > maxBodySize) {
+                    throw new RequestBodyTooLargeException(maxBodySize);
+                }
+            }
+            body.setLength((int) length);
+            return body;
+        } catch (IOException | RuntimeException e) {
+            body.close();
+            throw e;
+        }
+    }
+
+    public long getMaxBodySize() {
+        return maxBodySize;
+    }
+
+    /**
+     * 从池中获取一个块
+     *
+     * @return
+     */
+    private byte[] acquire() {
+        byte[] chunk = pool.poll();
+        if (chunk == null) {
+            return new byte[CHUNK_SIZE];
+        }
+        pooledChunks.decrementAndGet();
+        return chunk;
+    }
+
+    /**
+     * 归还块
+     *
+     * @param chunk
+     */
+    void release(byte[] chunk) {
+        if (pooledChunks.incrementAndGet() <= MAX_POOLED_CHUNKS) {
+            pool.offer(chunk);
+        } else {
+            pooledChunks.decrementAndGet();
+        }
+    }
+
+}
@@ -1,11 +1,14 @@
 package com.valsong.swagger.util;
 
+import com.valsong.swagger.exception.SwaggerScannerException;
 import com.valsong.swagger.model.SwaggerExample;
+import com.valsong.swagger.support.SwaggerExampleClassCache;
 import net.bytebuddy.ByteBuddy;
 import net.bytebuddy.description.type.TypeDefinition;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.dynamic.DynamicType;
-import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.core.LocalVariableTableParameterNameDiscoverer;
 
 import java.lang.reflect.GenericArrayType;
@@ -16,18 +19,25 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.lang.reflect.WildcardType;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
+import static com.valsong.swagger.constant.SwaggerScannerConstants.PREBUILT_EXAMPLE_PACKAGE;
+
 /**
  * 生成Swagger页面example所需要的class
  *
@@ -35,11 +45,29 @@ import java.util.stream.Collectors;
  */
 public class SwaggerExampleClassBuilder {
 
+    private static final Logger logger = LoggerFactory.getLogger(SwaggerExampleClassBuilder.class);
+
     /**
      * 没有RawType
      */
     private static final Integer NON_RAW_TYPE = -1;
 
+    /**
+     * 生成的class的key的版本,生成规则变化时修改,使旧的class失效
+     */
+    private static final String KEY_VERSION = "1";
+
+    /**
+     * 生成的class的key使用SHA-256的前16个字节
+     */
+    private static final int KEY_BYTES = 16;
+
+    /**
+     * 不属于任何registry的class使用的classLoader
+     */
+    private static final SwaggerExampleClassLoader DEFAULT_CLASS_LOADER =
+            new SwaggerExampleClassLoader(SwaggerExampleClassBuilder.class.getClassLoader(), null);
+
 
     /**
      * 用于获取方法的参数名称
@@ -49,30 +77,218 @@ public class SwaggerExampleClassBuilder {
 
     /**
      * 根据方法参数生成对应的class
+     * <p>
+     * 优先使用构建时由swagger-scanner-maven-plugin生成的class,没有时再使用byte buddy生成
      *
      * @param method 方法
      * @param clazz  调用方法的bean的class
      * @return
      */
     public static Class<?> build(Method method, Class<?> clazz) {
+        return build(method, clazz, DEFAULT_CLASS_LOADER);
+    }
+
+    /**
+     * 根据方法参数生成对应的class
+     * <p>
+     * 优先使用构建时由swagger-scanner-maven-plugin生成的class,其次使用磁盘缓存中的字节码,
+     * 都没有时再使用byte buddy生成并写入磁盘缓存;
+     * 参数名称和类型都相同的方法使用同一个class,生成的class定义在exampleClassLoader中
+     *
+     * @param method             方法
+     * @param clazz              调用方法的bean的class
+     * @param exampleClassLoader 定义生成的class的classLoader,同时持有磁盘缓存
+     * @return
+     */
+    public static Class<?> build(Method method, Class<?> clazz, SwaggerExampleClassLoader exampleClassLoader) {
+
+        Objects.requireNonNull(exampleClassLoader, "exampleClassLoader can't be null!");
 
         //方法不能为空
         Objects.requireNonNull(method, "method can't be null!");
 
         //方法对应的参数名称
-        String[] parameterNames = PARAMETER_NAME_DISCOVERER.get().getParameterNames(method);
-
-        //如果参数个数为0
-        if (parameterNames == null || parameterNames.length == 0) {
-            parameterNames = method.getParameters().length == 0 ? new String[0] :
-                    Arrays.asList(method.getParameters()).stream().map(Parameter::getName).collect(Collectors.toList()).toArray(new String[0]);
-        }
+        String[] parameterNames = parameterNames(method);
 
         //如果参数个数为0,则直接返回SwaggerExample
-        if (parameterNames == null || parameterNames.length == 0) {
+        if (parameterNames.length == 0) {
             return SwaggerExample.class;
         }
 
+        //构建时生成的class
+        String key = prebuiltKey(method, clazz, parameterNames);
+        Class<?> beanClazz = clazz != null ? clazz : method.getDeclaringClass();
+        Class<?> prebuiltClass = SwaggerExampleClassIndex.find(key, beanClazz.getClassLoader());
+        if (prebuiltClass != null) {
+            return prebuiltClass;
+        }
+
+        //命中磁盘缓存时不再分析参数类型
+        SwaggerExampleClassCache exampleClassCache = exampleClassLoader.getExampleClassCache();
+        if (exampleClassCache != null) {
+            String structureKey = exampleClassCache.readStructureKey(key);
+            if (structureKey != null) {
+                Class<?> cachedClass = exampleClassLoader.computeIfAbsent(structureKey,
+                        k -> cachedClass(k, exampleClassLoader, exampleClassCache));
+                if (cachedClass != null) {
+                    return cachedClass;
+                }
+            }
+        }
+
+        ExampleClassStructure structure = analyze(method, clazz, parameterNames);
+
+        //结构相同的参数class只生成一次
+        Class<?> dynamicClass = exampleClassLoader.computeIfAbsent(structure.getKey(), k -> {
+            DynamicType.Unloaded<?> dynamicType = makeClass(structure.getParameterNames(),
+                    structure.getPreparedGeneric(), prebuiltClassName(k));
+            if (exampleClassCache != null) {
+                exampleClassCache.writeClass(k, dynamicType.getBytes());
+            }
+            return load(dynamicType, exampleClassLoader);
+        });
+
+        if (exampleClassCache != null) {
+            exampleClassCache.writeStructureKey(key, structure.getKey());
+        }
+        return dynamicClass;
+
+    }
+
+    /**
+     * 使用磁盘缓存中的字节码定义class
+     *
+     * @param structureKey
+     * @param exampleClassLoader
+     * @param exampleClassCache
+     * @return 没有或者无法使用时返回null
+     */
+    private static Class<?> cachedClass(String structureKey, SwaggerExampleClassLoader exampleClassLoader,
+                                        SwaggerExampleClassCache exampleClassCache) {
+        String className = prebuiltClassName(structureKey);
+
+        byte[] bytes = exampleClassCache.readClass(structureKey);
+        if (bytes == null) {
+            return null;
+        }
+        try {
+            return exampleClassLoader.define(className, bytes);
+        } catch (RuntimeException | LinkageError e) {
+            logger.warn("cached example class: {} can't be defined, it will be generated.", className, e);
+            exampleClassCache.evictClass(structureKey);
+            return null;
+        }
+    }
+
+    /**
+     * 根据方法参数生成对应的class,不加载,用于在构建时写入到本地目录
+     *
+     * @param method    方法
+     * @param clazz     调用方法的bean的class
+     * @param className 生成的class的名称,为null时由byte buddy命名
+     * @return 方法没有参数时返回null
+     */
+    public static DynamicType.Unloaded<?> make(Method method, Class<?> clazz, String className) {
+
+        //方法不能为空
+        Objects.requireNonNull(method, "method can't be null!");
+
+        String[] parameterNames = parameterNames(method);
+
+        if (parameterNames.length == 0) {
+            return null;
+        }
+
+        ExampleClassStructure structure = analyze(method, clazz, parameterNames);
+        return makeClass(structure.getParameterNames(), structure.getPreparedGeneric(), className);
+    }
+
+    /**
+     * 构建时生成的class和磁盘缓存的key,由方法签名、参数名称和bean的class的泛型声明决定,
+     * 任意一个变化时key随之变化,运行时找不到对应的class而重新生成
+     *
+     * @param method 方法
+     * @param clazz  调用方法的bean的class
+     * @return
+     */
+    public static String prebuiltKey(Method method, Class<?> clazz) {
+        return prebuiltKey(method, clazz, parameterNames(method));
+    }
+
+    /**
+     * 参数class的结构的key,由参数名称和解析泛型后的参数类型决定,结构相同的方法使用同一个class
+     *
+     * @param method 方法
+     * @param clazz  调用方法的bean的class
+     * @return 方法没有参数时返回null
+     */
+    public static String structureKey(Method method, Class<?> clazz) {
+        String[] parameterNames = parameterNames(method);
+        return parameterNames.length == 0 ? null : analyze(method, clazz, parameterNames).getKey();
+    }
+
+    /**
+     * 生成的class的名称
+     *
+     * @param structureKey structureKey
+     * @return
+     */
+    public static String prebuiltClassName(String structureKey) {
+        return PREBUILT_EXAMPLE_PACKAGE + ".SwaggerExample_" + structureKey;
+    }
+
+    private static String prebuiltKey(Method method, Class<?> clazz, String[] parameterNames) {
+        StringBuilder signature = new StringBuilder(KEY_VERSION)
+                .append('|').append(clazz != null ? clazz.getName() : "")
+                .append('|').append(method.toGenericString())
+                .append('|').append(String.join(",", parameterNames));
+        //类型变量的实际类型由bean的class及其父类、接口的泛型声明决定
+        appendGenericDeclaration(signature, clazz, new HashSet<>());
+        return hash(signature.toString());
+    }
+
+    private static void appendGenericDeclaration(StringBuilder signature, Class<?> clazz, Set<Class<?>> visited) {
+        if (clazz == null || clazz == Object.class || !visited.add(clazz)) {
+            return;
+        }
+        signature.append('|').append(clazz.getName());
+        Type genericSuperclass = clazz.getGenericSuperclass();
+        if (genericSuperclass != null) {
+            signature.append(':').append(genericSuperclass.getTypeName());
+        }
+        for (Type genericInterface : clazz.getGenericInterfaces()) {
+            signature.append(',').append(genericInterface.getTypeName());
+        }
+        appendGenericDeclaration(signature, clazz.getSuperclass(), visited);
+        for (Class<?> type : clazz.getInterfaces()) {
+            appendGenericDeclaration(signature, type, visited);
+        }
+    }
+
+    private static String hash(String signature) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(signature.getBytes(StandardCharsets.UTF_8));
+            StringBuilder key = new StringBuilder();
+            for (int i = 0; i < KEY_BYTES; i++) {
+                key.append(String.format("%02x", digest[i]));
+            }
+            return key.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new SwaggerScannerException("SHA-256 is not supported!", e);
+        }
+    }
+
+    /**
+     * 分析方法参数的类型
+     *
+     * @param method
+     * @param clazz
+     * @param parameterNames
+     * @return
+     */
+    private static ExampleClassStructure analyze(Method method, Class<?> clazz, String[] parameterNames) {
+
         //方法参数的泛型
         Type[] parameterTypes = method.getGenericParameterTypes();
 
@@ -93,11 +309,33 @@ public class SwaggerExampleClassBuilder {
         // 构建Class之前准备好所有需要的泛型
         Map<Integer, TypeDefinition> preparedGeneric = preparedGenericBeforeBuildClass(parameterTypeMap);
 
-        //构建Class
-        Class<?> dynamicClass = buildClass(parameterNames, preparedGeneric);
+        //与makeClass中field的顺序一致
+        StringBuilder signature = new StringBuilder(KEY_VERSION);
+        int index = 0;
+        for (TypeDefinition generic : preparedGeneric.values()) {
+            signature.append('|').append(parameterNames[index++]).append(':').append(generic.getTypeName());
+        }
 
-        return dynamicClass;
+        return new ExampleClassStructure(parameterNames, preparedGeneric, hash(signature.toString()));
+    }
 
+    /**
+     * 获取方法的参数名称,与生成的class的field名称一致
+     *
+     * @param method 方法
+     * @return
+     */
+    public static String[] parameterNames(Method method) {
+
+        //方法对应的参数名称
+        String[] parameterNames = PARAMETER_NAME_DISCOVERER.get().getParameterNames(method);
+
+        //如果参数个数为0
+        if (parameterNames == null || parameterNames.length == 0) {
+            parameterNames = method.getParameters().length == 0 ? new String[0] :
+                    Arrays.asList(method.getParameters()).stream().map(Parameter::getName).collect(Collectors.toList()).toArray(new String[0]);
+        }
+        return parameterNames;
     }
 
     /**
@@ -147,9 +385,27 @@ public class SwaggerExampleClassBuilder {
      * @return
      */
     private static Class<?> buildClass(String[] parameterNames, Map<Integer, TypeDefinition> preparedGeneric) {
+        return load(makeClass(parameterNames, preparedGeneric, null), DEFAULT_CLASS_LOADER);
+    }
+
+    /**
+     * 生成Class的字节码
+     *
+     * @param parameterNames
+     * @param preparedGeneric
+     * @param className       为null时由byte buddy命名
+     * @return
+     */
+    private static DynamicType.Unloaded<?> makeClass(String[] parameterNames,
+                                                     Map<Integer, TypeDefinition> preparedGeneric,
+                                                     String className) {
         DynamicType.Builder dynamicBuilder = new ByteBuddy()
                 .subclass(SwaggerExample.class);
 
+        if (className != null) {
+            dynamicBuilder = dynamicBuilder.name(className);
+        }
+
         AtomicInteger index = new AtomicInteger(0);
         for (Map.Entry<Integer, TypeDefinition> entry : preparedGeneric.entrySet()) {
             final int currentIndex = index.getAndIncrement();
@@ -158,17 +414,18 @@ public class SwaggerExampleClassBuilder {
             dynamicBuilder = dynamicBuilder.defineProperty(parameterNames[currentIndex], generic);
         }
 
-        DynamicType.Unloaded<?> dynamicType = dynamicBuilder.make();
-
-        //写入到本地目录
-//        try {
-//            dynamicType.saveIn(new File("target/classes"));
-//        } catch (IOException e) {
-//            e.printStackTrace();
-//        }
+        return dynamicBuilder.make();
+    }
 
-        return dynamicType.load(SwaggerExampleClassBuilder.class.getClassLoader(),
-                ClassLoadingStrategy.Default.INJECTION).getLoaded();
+    /**
+     * 加载Class
+     *
+     * @param dynamicType
+     * @param exampleClassLoader
+     * @return
+     */
+    private static Class<?> load(DynamicType.Unloaded<?> dynamicType, SwaggerExampleClassLoader exampleClassLoader) {
+        return exampleClassLoader.define(dynamicType.getTypeDescription().getName(), dynamicType.getBytes());
     }
 
     /**
@@ -596,6 +853,46 @@ public class SwaggerExampleClassBuilder {
 
     }
 
+    /**
+     * 参数class的结构
+     */
+    private static class ExampleClassStructure {
+
+        /**
+         * 参数名称,即field名称
+         */
+        private final String[] parameterNames;
+
+        /**
+         * field的类型
+         */
+        private final Map<Integer, TypeDefinition> preparedGeneric;
+
+        /**
+         * 由参数名称和类型生成的key
+         */
+        private final String key;
+
+        public ExampleClassStructure(String[] parameterNames, Map<Integer, TypeDefinition> preparedGeneric,
+                                     String key) {
+            this.parameterNames = parameterNames;
+            this.preparedGeneric = preparedGeneric;
+            this.key = key;
+        }
+
+        public String[] getParameterNames() {
+            return parameterNames;
+        }
+
+        public Map<Integer, TypeDefinition> getPreparedGeneric() {
+            return preparedGeneric;
+        }
+
+        public String getKey() {
+            return key;
+        }
+    }
+
     private static class TypeProperty {
         private Type type;
 
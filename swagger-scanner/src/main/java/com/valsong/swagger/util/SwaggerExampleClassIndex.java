@@ -0,0 +1,94 @@
+package com.valsong.swagger.util;
+
+import com.valsong.swagger.model.SwaggerExample;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.WeakHashMap;
+
+import static com.valsong.swagger.constant.SwaggerScannerConstants.EXAMPLE_CLASS_INDEX_LOCATION;
+
+/**
+ * 构建时由swagger-scanner-maven-plugin生成的参数class的索引
+ * <p>
+ * 合并classpath中所有的 META-INF/swagger-scanner-examples.index,内容为 key=className,
+ * key由SwaggerExampleClassBuilder.prebuiltKey生成;每个classLoader只读取一次
+ *
+ * @author Val Song
+ */
+public class SwaggerExampleClassIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(SwaggerExampleClassIndex.class);
+
+    /**
+     * classLoader -> 索引,classLoader被回收时索引一起回收
+     */
+    private static final Map<ClassLoader, Map<String, String>> INDEXES =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    private SwaggerExampleClassIndex() {
+    }
+
+    /**
+     * 查找构建时生成的参数class
+     *
+     * @param key         SwaggerExampleClassBuilder.prebuiltKey生成的key
+     * @param classLoader 加载调用方法的bean的classLoader
+     * @return 没有生成或者无法加载时返回null
+     */
+    public static Class<?> find(String key, ClassLoader classLoader) {
+        if (classLoader == null) {
+            return null;
+        }
+        String className = INDEXES.computeIfAbsent(classLoader, SwaggerExampleClassIndex::load).get(key);
+        if (className == null) {
+            return null;
+        }
+        try {
+            Class<?> clazz = Class.forName(className, false, classLoader);
+            if (SwaggerExample.class.isAssignableFrom(clazz)) {
+                return clazz;
+            }
+            logger.warn("prebuilt example class: {} is not a SwaggerExample, it will be generated.", className);
+        } catch (ClassNotFoundException | LinkageError e) {
+            logger.warn("prebuilt example class: {} can't be loaded, it will be generated.", className, e);
+        }
+        return null;
+    }
+
+    /**
+     * 读取classpath中所有的索引
+     *
+     * @param classLoader
+     * @return 没有索引时返回空map
+     */
+    private static Map<String, String> load(ClassLoader classLoader) {
+        Map<String, String> index = new HashMap<>();
+        try {
+            Enumeration<URL> urls = classLoader.getResources(EXAMPLE_CLASS_INDEX_LOCATION);
+            while (urls.hasMoreElements()) {
+                Properties properties = new Properties();
+                try (InputStream inputStream = urls.nextElement().openStream()) {
+                    properties.load(inputStream);
+                }
+                properties.stringPropertyNames().forEach(key -> index.put(key, properties.getProperty(key)));
+            }
+        } catch (IOException e) {
+            logger.warn("prebuilt example class index load failed, all example classes will be generated.", e);
+            return Collections.emptyMap();
+        }
+        if (!index.isEmpty()) {
+            logger.info("prebuilt example class index loaded, {} classes.", index.size());
+        }
+        return index;
+    }
+
+}
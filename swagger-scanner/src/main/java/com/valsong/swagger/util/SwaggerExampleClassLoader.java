@@ -0,0 +1,87 @@
+package com.valsong.swagger.util;
+
+import com.valsong.swagger.support.SwaggerExampleClassCache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 定义byte buddy生成的参数class的classLoader
+ * <p>
+ * 每个SwaggerApiRegistry使用一个,生成的class和structureKey -> class的缓存都属于该classLoader,
+ * 不再注入到swagger-scanner所在的classLoader;registry关闭后不再被引用,生成的class可以随之卸载
+ *
+ * @author Val Song
+ */
+public class SwaggerExampleClassLoader extends ClassLoader {
+
+    static {
+        ClassLoader.registerAsParallelCapable();
+    }
+
+    /**
+     * structureKey -> 生成的class,参数名称和类型都相同的方法共用
+     */
+    private final Map<String, Class<?>> classes = new ConcurrentHashMap<>();
+
+    /**
+     * 参数class的磁盘缓存,没有配置时为null
+     */
+    private final SwaggerExampleClassCache exampleClassCache;
+
+    /**
+     * @param parent            能够加载SwaggerExample和方法参数类型的classLoader
+     * @param exampleClassCache 参数class的磁盘缓存,可以为null
+     */
+    public SwaggerExampleClassLoader(ClassLoader parent, SwaggerExampleClassCache exampleClassCache) {
+        super(parent);
+        this.exampleClassCache = exampleClassCache;
+    }
+
+    /**
+     * 获取structureKey对应的class,没有定义过时使用definer定义
+     *
+     * @param structureKey
+     * @param definer      返回null时不缓存
+     * @return
+     */
+    Class<?> computeIfAbsent(String structureKey, Function<String, Class<?>> definer) {
+        return classes.computeIfAbsent(structureKey, definer);
+    }
+
+    /**
+     * 使用字节码定义class,已经定义过时返回已经定义的class
+     *
+     * @param className
+     * @param bytes
+     * @return
+     */
+    Class<?> define(String className, byte[] bytes) {
+        synchronized (getClassLoadingLock(className)) {
+            Class<?> loadedClass = findLoadedClass(className);
+            return loadedClass != null ? loadedClass : defineClass(className, bytes, 0, bytes.length);
+        }
+    }
+
+    /**
+     * 释放对已经生成的class的引用,registry关闭时调用
+     */
+    public void clear() {
+        classes.clear();
+    }
+
+    /**
+     * 已经生成的class的数量
+     *
+     * @return
+     */
+    public int size() {
+        return classes.size();
+    }
+
+    public SwaggerExampleClassCache getExampleClassCache() {
+        return exampleClassCache;
+    }
+
+}
@@ -0,0 +1,103 @@
+package com.valsong.swagger.util;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * 统计写入的字符以UTF-8编码后的字节数,不进行编码也不复制字符
+ * <p>
+ * 没有指定out时只统计不输出,用于计算Json的大小
+ *
+ * @author Val Song
+ */
+public class Utf8CountingWriter extends Writer {
+
+    /**
+     * 为null时丢弃写入的字符
+     */
+    private final Writer out;
+
+    private long count;
+
+    public Utf8CountingWriter() {
+        this(null);
+    }
+
+    public Utf8CountingWriter(Writer out) {
+        this.out = out;
+    }
+
+    /**
+     * 已写入的字节数
+     *
+     * @return
+     */
+    public long count() {
+        return count;
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        count += utf8Length((char) c);
+        if (out != null) {
+            out.write(c);
+        }
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        for (int i = off; i < off + len; i++) {
+            count += utf8Length(cbuf[i]);
+        }
+        if (out != null) {
+            out.write(cbuf, off, len);
+        }
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        for (int i = off; i < off + len; i++) {
+            count += utf8Length(str.charAt(i));
+        }
+        if (out != null) {
+            out.write(str, off, len);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (out != null) {
+            out.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (out != null) {
+            out.close();
+        }
+    }
+
+    /**
+     * 单个字符的UTF-8字节数,代理对的4个字节计在高位代理上
+     *
+     * @param c
+     * @return
+     */
+    private static int utf8Length(char c) {
+        if (c < 0x80) {
+            return 1;
+        }
+        if (c < 0x800) {
+            return 2;
+        }
+        if (Character.isHighSurrogate(c)) {
+            return 4;
+        }
+        if (Character.isLowSurrogate(c)) {
+            return 0;
+        }
+        return 3;
+    }
+
+}
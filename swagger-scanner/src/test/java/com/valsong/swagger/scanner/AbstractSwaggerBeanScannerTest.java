@@ -0,0 +1,152 @@
+package com.valsong.swagger.scanner;
+
+import com.valsong.swagger.configuration.SwaggerScannerProperties;
+import com.valsong.swagger.model.MethodProperty;
+import com.valsong.swagger.model.SwaggerApiProperty;
+import com.valsong.swagger.support.SimpleSwaggerApiRegistry;
+import com.valsong.swagger.support.SwaggerApiRegistry;
+import com.valsong.swagger.support.SwaggerDocketRouter;
+import com.valsong.swagger.support.SwaggerInvokeMetrics;
+import com.valsong.swagger.support.SwaggerScannerInvoker;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import springfox.documentation.service.Tag;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 启动时生成参数class的时机
+ * <p>
+ * 扫描时不生成;springfox启动时解析Docket分组,该分组中被接受的方法生成;
+ * 被拒绝的方法和没有Docket的分组中的方法不生成
+ *
+ * @author Val Song
+ */
+public class AbstractSwaggerBeanScannerTest {
+
+    private static final String ORDERS = "ordersDocket";
+
+    private static final String ADMIN = "adminDocket";
+
+    private SimpleSwaggerApiRegistry registry;
+
+    @Before
+    public void setUp() {
+        registry = new SimpleSwaggerApiRegistry(new SwaggerInvokeMetrics(), null,
+                new SwaggerDocketRouter(ORDERS, Arrays.asList(docketGroup(ORDERS, "order"),
+                        docketGroup(ADMIN, "admin"))));
+    }
+
+    @After
+    public void tearDown() {
+        registry.close();
+    }
+
+    @Test
+    public void compositeParameterClassesAreGeneratedOnlyForRenderedEndpoints() {
+        new TriggerScanner(registry).postProcessAfterInitialization(new OrderService(), "orderService");
+
+        //被拒绝的方法没有注册
+        assertNull(registry.getTriggerMethod("orderService.rejected"));
+        List<SwaggerApiProperty> orders = registry.getSwaggerApiProperties(ORDERS);
+        List<SwaggerApiProperty> admin = registry.getSwaggerApiProperties(ADMIN);
+        assertEquals(2, orders.size());
+        assertEquals(1, admin.size());
+
+        //扫描结束后没有生成任何class
+        registry.getAllSwaggerApiProperties().forEach(p -> assertFalse(p.getLazyCompositeParameterClazz().isBuilt()));
+        assertEquals(0, registry.getExampleClassLoader().size());
+
+        //只有ordersDocket时,springfox启动解析该分组,和SwaggerApiDescriptionProvider一样获取参数class
+        orders.forEach(p -> assertNotNull(p.getCompositeParameterClazz()));
+
+        orders.forEach(p -> assertTrue(p.getLazyCompositeParameterClazz().isBuilt()));
+        assertFalse(admin.get(0).getLazyCompositeParameterClazz().isBuilt());
+        assertEquals(2, registry.getExampleClassLoader().size());
+
+        //调用按名称绑定参数,不需要参数class
+        new SwaggerScannerInvoker(registry);
+        assertEquals("order-1 audited by val",
+                SwaggerScannerInvoker.invoke("orderService.audit", "{\"id\":1,\"operator\":\"val\"}"));
+        assertFalse(admin.get(0).getLazyCompositeParameterClazz().isBuilt());
+    }
+
+    private static SwaggerScannerProperties.DocketGroup docketGroup(String docketBeanName, String tag) {
+        SwaggerScannerProperties.DocketGroup docketGroup = new SwaggerScannerProperties.DocketGroup();
+        docketGroup.setDocketBeanName(docketBeanName);
+        docketGroup.setTags(new String[]{tag});
+        return docketGroup;
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.METHOD)
+    public @interface Trigger {
+
+        String tag();
+
+        boolean accept() default true;
+    }
+
+    public static class OrderService {
+
+        @Trigger(tag = "order")
+        public String find(long id) {
+            return "order-" + id;
+        }
+
+        @Trigger(tag = "order")
+        public String cancel(long id, String reason) {
+            return "order-" + id + " " + reason;
+        }
+
+        @Trigger(tag = "admin")
+        public String audit(long id, String operator) {
+            return "order-" + id + " audited by " + operator;
+        }
+
+        @Trigger(tag = "order", accept = false)
+        public String rejected(long id, int amount) {
+            return "order-" + id + " " + amount;
+        }
+    }
+
+    private static class TriggerScanner extends AbstractSwaggerBeanScanner<Trigger> {
+
+        TriggerScanner(SwaggerApiRegistry swaggerApiRegistry) {
+            super(swaggerApiRegistry);
+        }
+
+        @Override
+        public Class<Trigger> methodAnnotationClazz() {
+            return Trigger.class;
+        }
+
+        @Override
+        public String pathSuffix(Trigger methodAnnotation, MethodProperty methodProperty) {
+            return null;
+        }
+
+        @Override
+        public Tag tag(Trigger methodAnnotation, MethodProperty methodProperty) {
+            return new Tag(methodAnnotation.tag(), methodAnnotation.tag());
+        }
+
+        @Override
+        public boolean isAccept(Trigger methodAnnotation, MethodProperty methodProperty) {
+            return methodAnnotation.accept();
+        }
+    }
+
+}
@@ -0,0 +1,349 @@
+package com.valsong.swagger.support;
+
+import com.valsong.swagger.annotation.SwaggerCacheable;
+import com.valsong.swagger.exception.SwaggerScannerException;
+import com.valsong.swagger.model.CompositeParameterClazz;
+import com.valsong.swagger.model.MethodProperty;
+import com.valsong.swagger.model.SwaggerApiProperty;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import springfox.documentation.builders.ModelBuilder;
+import springfox.documentation.schema.Model;
+import springfox.documentation.service.Tag;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * SimpleSwaggerApiRegistry
+ *
+ * @author Val Song
+ */
+public class SimpleSwaggerApiRegistryTest {
+
+    private SwaggerInvokeMetrics invokeMetrics;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private SimpleSwaggerApiRegistry registry;
+
+    @Before
+    public void setUp() {
+        invokeMetrics = new SwaggerInvokeMetrics();
+        meterRegistry = new SimpleMeterRegistry();
+        new SwaggerInvokeMetricsBinder(invokeMetrics).bindTo(meterRegistry);
+        registry = new SimpleSwaggerApiRegistry(invokeMetrics);
+    }
+
+    @Test
+    public void removeBeanOnlyRemovesTheSameInstance() throws NoSuchMethodException {
+        Calculator bean = new Calculator();
+        registry.registerTriggerMethod("calculator.add", methodProperty(bean, "add"));
+
+        //其他context中的同名bean
+        registry.removeBean("calculator", new Calculator());
+        assertNotNull(registry.getTriggerMethod("calculator.add"));
+
+        registry.removeBean("calculator", bean);
+        assertNull(registry.getTriggerMethod("calculator.add"));
+    }
+
+    @Test
+    public void removeBeanOnlyRemovesThePropertiesOfTheSameInstance() throws NoSuchMethodException {
+        Calculator bean = new Calculator();
+        Calculator other = new Calculator();
+        MethodProperty add = methodProperty(bean, "add");
+        MethodProperty cachedAdd = methodProperty(other, "cachedAdd");
+        registry.registerTriggerMethod("calculator.add", add);
+        registry.registerTriggerMethod("calculator.cachedAdd", cachedAdd);
+        registry.registerSwaggerApiProperty(swaggerApiProperty("calculator.add", "calculator", add));
+        registry.registerSwaggerApiProperty(swaggerApiProperty("calculator.cachedAdd", "cached", cachedAdd));
+
+        //另一个实例注册的同名bean的内容保留
+        registry.removeBean("calculator", bean);
+        assertEquals(Collections.singletonList("calculator.cachedAdd"),
+                names(registry.getSwaggerApiProperties(SwaggerDocketRouter.DEFAULT_GROUP)));
+        assertEquals(Collections.singletonList("calculator.cachedAdd"),
+                names(registry.getAllSwaggerApiProperties()));
+    }
+
+    @Test
+    public void removeBeanRemovesUnusedModelsAndTags() throws NoSuchMethodException {
+        Calculator bean = new Calculator();
+        Calculator other = new Calculator();
+        MethodProperty add = methodProperty(bean, "add");
+        MethodProperty cachedAdd = methodProperty(other, "cachedAdd");
+        registry.registerTriggerMethod("calculator.add", add);
+        registry.registerTriggerMethod("calculator.cachedAdd", cachedAdd);
+        SwaggerApiProperty addProperty = swaggerApiProperty("calculator.add", "calculator", add);
+        SwaggerApiProperty cachedAddProperty = swaggerApiProperty("calculator.cachedAdd", "cached", cachedAdd);
+        registry.registerSwaggerApiProperty(addProperty);
+        registry.registerSwaggerApiProperty(cachedAddProperty);
+        registry.registerTag(new Tag("calculator", "calculator"));
+        registry.registerTag(new Tag("cached", "cached"));
+        registry.registerModels(SwaggerDocketRouter.DEFAULT_GROUP, addProperty, models("Sum", "Operands"));
+        registry.registerModels(SwaggerDocketRouter.DEFAULT_GROUP, cachedAddProperty, models("Sum"));
+        assertEquals(2, registry.getModels().size());
+        assertEquals(2, registry.getTags(SwaggerDocketRouter.DEFAULT_GROUP).size());
+
+        registry.removeBean("calculator", bean);
+
+        //只被移除的方法使用的Model和Tag随之移除,仍在使用的保留
+        assertEquals(Collections.singleton("Sum"), registry.getModels(SwaggerDocketRouter.DEFAULT_GROUP).keySet());
+        assertEquals(Collections.singleton("Sum"), registry.getModels().keySet());
+        assertEquals(Collections.singletonList("cached"), registry.getAllTags().stream().map(Tag::getName)
+                .collect(Collectors.toList()));
+        assertEquals(1, registry.getTags(SwaggerDocketRouter.DEFAULT_GROUP).size());
+    }
+
+    @Test
+    public void rebindBeanKeepsTheRegisteredMethods() throws Throwable {
+        Calculator bean = new Calculator();
+        MethodProperty add = methodProperty(bean, "add");
+        registry.registerTriggerMethod("calculator.add", add);
+        registry.registerSwaggerApiProperty(swaggerApiProperty("calculator.add", "calculator", add));
+        registry.freeze();
+        Object frozen = dispatchTable();
+        List<SwaggerApiProperty> documented = registry.getAllSwaggerApiProperties();
+
+        //同一个类的新实例只替换实例和调用器,方法表和文档不变
+        Calculator recreated = new Calculator();
+        assertTrue(registry.rebindBean("calculator", recreated));
+        assertSame(add, registry.getTriggerMethod("calculator.add"));
+        assertSame(recreated, add.getInstance());
+        assertEquals(3, add.getInvoker().invoke(new Object[]{1, 2}));
+        assertSame(frozen, dispatchTable());
+        assertSame(documented, registry.getAllSwaggerApiProperties());
+
+        //类不同或没有注册过时需要重新扫描
+        assertFalse(registry.rebindBean("calculator", new Calculator() {
+        }));
+        assertFalse(registry.rebindBean("other", recreated));
+        assertSame(recreated, add.getInstance());
+    }
+
+    @Test
+    public void removedMethodsReleaseTheirMetrics() throws NoSuchMethodException {
+        Calculator bean = new Calculator();
+        registry.registerTriggerMethod("calculator.add", methodProperty(bean, "add"));
+        assertEquals(1, invokeMetrics.snapshot().size());
+        assertNotNull(meterRegistry.find("swagger.scanner.invocations").tag("method", "calculator.add")
+                .functionTimer());
+
+        registry.removeByBeanName("calculator");
+
+        assertTrue(invokeMetrics.snapshot().isEmpty());
+        assertTrue(meterRegistry.getMeters().isEmpty());
+    }
+
+    @Test
+    public void reRegistrationUsesTheNewCacheable() throws NoSuchMethodException {
+        Calculator bean = new Calculator();
+        MethodProperty cached = methodProperty(bean, "cachedAdd");
+        registry.registerTriggerMethod("calculator.add", cached);
+        assertEquals(10, cached.getResultCache().getMaxSize());
+
+        //bean重新创建后@SwaggerCacheable已经修改
+        Calculator recreated = new Calculator();
+        registry.replaceBean("calculator", recreated);
+        MethodProperty recached = methodProperty(recreated, "recachedAdd");
+        registry.registerTriggerMethod("calculator.add", recached);
+
+        assertEquals(20, recached.getResultCache().getMaxSize());
+        assertNotSame(cached.getMetrics(), recached.getMetrics());
+        assertSame(recached.getResultCache(), recached.getMetrics().getResultCache());
+        //指标读取新的缓存
+        recached.getResultCache().get("[1,2]", () -> 3);
+        assertEquals(1D, meterRegistry.find("swagger.scanner.cache.size").tag("method", "calculator.add")
+                .gauge().value(), 0D);
+    }
+
+    @Test
+    public void frozenTableSurvivesDocumentationRegistrations() throws Exception {
+        Calculator bean = new Calculator();
+        registry.registerTriggerMethod("calculator.add", methodProperty(bean, "add"));
+        registry.freeze();
+        Object frozen = dispatchTable();
+
+        //渲染文档时注册Model、Tag不影响方法表
+        registry.registerModels(Collections.emptyMap());
+        registry.registerTag(Collections.emptySet());
+        assertNotNull(registry.getTriggerMethod("calculator.add"));
+        assertSame(frozen, dispatchTable());
+
+        //注册方法后在下一次freeze()之前查找注册表,查找不会生成方法表
+        registry.registerTriggerMethod("calculator.cachedAdd", methodProperty(bean, "cachedAdd"));
+        assertNotNull(registry.getTriggerMethod("calculator.cachedAdd"));
+        assertNotNull(registry.getTriggerMethod(registry.getEndpointIds().get("calculator.cachedAdd")));
+        assertNull(dispatchTable());
+
+        registry.freeze();
+        Object refrozen = dispatchTable();
+        assertNotSame(frozen, refrozen);
+        assertNotNull(registry.getTriggerMethod(registry.getEndpointIds().get("calculator.cachedAdd")));
+        assertSame(refrozen, dispatchTable());
+    }
+
+    @Test
+    public void onlyChangedPartsAreCopied() throws NoSuchMethodException {
+        SimpleSwaggerApiRegistry grouped = new SimpleSwaggerApiRegistry(invokeMetrics, null,
+                new SwaggerDocketRouter("ordersDocket", Collections.emptyList()));
+        Calculator bean = new Calculator();
+        grouped.registerTriggerMethod("calculator.add", methodProperty(bean, "add"));
+        grouped.registerSwaggerApiProperty(swaggerApiProperty("calculator.add", "adminDocket"));
+        Map<String, MethodProperty> triggerMethods = grouped.getAllTriggerMethods();
+        List<SwaggerApiProperty> admin = grouped.getSwaggerApiProperties("adminDocket");
+        assertEquals(1, admin.size());
+
+        //渲染文档时交替注册和读取Model,不复制方法和其他分组
+        for (int i = 0; i < 3; i++) {
+            grouped.registerModels("ordersDocket", Collections.singletonMap("model" + i, new ModelBuilder().id("model" + i).build()));
+            assertEquals(i + 1, grouped.getModels("ordersDocket").size());
+            assertSame(triggerMethods, grouped.getAllTriggerMethods());
+            assertSame(admin, grouped.getSwaggerApiProperties("adminDocket"));
+        }
+
+        grouped.registerSwaggerApiProperty(swaggerApiProperty("calculator.cachedAdd", "ordersDocket"));
+        assertSame(admin, grouped.getSwaggerApiProperties("adminDocket"));
+        assertEquals(1, grouped.getSwaggerApiProperties("ordersDocket").size());
+        assertEquals(2, grouped.getAllSwaggerApiProperties().size());
+        //按名称查找方法不需要复制
+        assertNotNull(grouped.getTriggerMethod("calculator.add"));
+        assertSame(triggerMethods, grouped.getAllTriggerMethods());
+    }
+
+    @Test
+    public void closeReleasesGeneratedClasses() throws Exception {
+        SwaggerScannerInvoker invoker = new SwaggerScannerInvoker(registry);
+        List<WeakReference<?>> generated = registerAndGenerate();
+
+        //context关闭时的顺序
+        invoker.close();
+        registry.close();
+        try {
+            SwaggerScannerInvoker.getTriggerMethod("calculator.add");
+            fail("registry should be released");
+        } catch (SwaggerScannerException e) {
+            //静态引用已经释放
+        }
+
+        for (int i = 0; i < 50 && generated.stream().anyMatch(reference -> reference.get() != null); i++) {
+            System.gc();
+            Thread.sleep(20L);
+        }
+        generated.forEach(reference -> assertNull(reference.get()));
+        assertTrue(registry.getAllTriggerMethods().isEmpty());
+        assertTrue(registry.getAllSwaggerApiProperties().isEmpty());
+    }
+
+    /**
+     * 注册方法并生成参数class
+     *
+     * @return 生成的class和定义它的classLoader的弱引用
+     */
+    private List<WeakReference<?>> registerAndGenerate() throws NoSuchMethodException {
+        Calculator bean = new Calculator();
+        Method method = Calculator.class.getMethod("add", int.class, int.class);
+        CompositeParameterClazz compositeParameterClazz = CompositeParameterClazz.lazy(method, Calculator.class,
+                registry.getExampleClassLoader());
+        registry.registerTriggerMethod("calculator.add",
+                new MethodProperty("calculator", bean, method, compositeParameterClazz));
+        registry.registerSwaggerApiProperty(SwaggerApiProperty.newBuilder()
+                .tag("calculator")
+                .name("calculator.add")
+                .beanName("calculator")
+                .beanClazz(Calculator.class)
+                .method(method)
+                .compositeParameterClazz(compositeParameterClazz)
+                .build());
+        registry.freeze();
+        assertNotNull(SwaggerScannerInvoker.getTriggerMethod("calculator.add"));
+
+        Class<?> clazz = registry.getAllSwaggerApiProperties().get(0).getCompositeParameterClazz();
+        assertSame(registry.getExampleClassLoader(), clazz.getClassLoader());
+        return Arrays.asList(new WeakReference<>(clazz), new WeakReference<>(clazz.getClassLoader()));
+    }
+
+    private static SwaggerApiProperty swaggerApiProperty(String name, String group) throws NoSuchMethodException {
+        return SwaggerApiProperty.newBuilder()
+                .tag("calculator")
+                .name(name)
+                .beanName("calculator")
+                .beanClazz(Calculator.class)
+                .method(Calculator.class.getMethod("add", int.class, int.class))
+                .group(group)
+                .build();
+    }
+
+    private static SwaggerApiProperty swaggerApiProperty(String name, String tag, MethodProperty methodProperty) {
+        return SwaggerApiProperty.newBuilder()
+                .tag(tag)
+                .name(name)
+                .beanName(methodProperty.getBeanName())
+                .beanClazz(Calculator.class)
+                .methodProperty(methodProperty)
+                .method(methodProperty.getMethod())
+                .group(SwaggerDocketRouter.DEFAULT_GROUP)
+                .build();
+    }
+
+    private static List<String> names(List<SwaggerApiProperty> swaggerApiProperties) {
+        return swaggerApiProperties.stream().map(SwaggerApiProperty::getName).collect(Collectors.toList());
+    }
+
+    private static Map<String, Model> models(String... names) {
+        Map<String, Model> models = new HashMap<>();
+        for (String name : names) {
+            models.put(name, new ModelBuilder().id(name).name(name).build());
+        }
+        return models;
+    }
+
+    private Object dispatchTable() throws ReflectiveOperationException {
+        Field field = SimpleSwaggerApiRegistry.class.getDeclaredField("dispatchTable");
+        field.setAccessible(true);
+        return field.get(registry);
+    }
+
+    private static MethodProperty methodProperty(Calculator bean, String methodName) throws NoSuchMethodException {
+        Method method = Calculator.class.getMethod(methodName, int.class, int.class);
+        MethodProperty methodProperty = new MethodProperty("calculator", bean, method, (Class<?>) null);
+        methodProperty.setCacheable(method.getAnnotation(SwaggerCacheable.class));
+        return methodProperty;
+    }
+
+    public static class Calculator {
+
+        public int add(int a, int b) {
+            return a + b;
+        }
+
+        @SwaggerCacheable(maxSize = 10)
+        public int cachedAdd(int a, int b) {
+            return a + b;
+        }
+
+        @SwaggerCacheable(maxSize = 20)
+        public int recachedAdd(int a, int b) {
+            return a + b;
+        }
+    }
+
+}
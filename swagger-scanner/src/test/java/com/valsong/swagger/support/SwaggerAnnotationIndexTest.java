@@ -0,0 +1,142 @@
+package com.valsong.swagger.support;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.valsong.swagger.constant.SwaggerScannerConstants.ANNOTATION_INDEX_LOCATION;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * SwaggerAnnotationIndex
+ * <p>
+ * indexed目录使用processor构建,有索引;test-classes目录没有索引
+ *
+ * @author Val Song
+ */
+public class SwaggerAnnotationIndexTest {
+
+    private Path indexed;
+
+    private URLClassLoader classLoader;
+
+    private SwaggerAnnotationIndex annotationIndex;
+
+    private Class<? extends Annotation> marker;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        Path testClasses = Paths.get(SwaggerAnnotationIndexTest.class.getProtectionDomain()
+                .getCodeSource().getLocation().toURI());
+        indexed = Files.createTempDirectory("swagger-annotation-index");
+        for (Class<?> clazz : new Class<?>[]{IndexedAnnotated.class, Unlisted.class, IndexedChild.class}) {
+            String classFile = clazz.getName().replace('.', '/') + ".class";
+            Path target = indexed.resolve(classFile);
+            Files.createDirectories(target.getParent());
+            Files.copy(testClasses.resolve(classFile), target);
+        }
+        Path indexFile = indexed.resolve(ANNOTATION_INDEX_LOCATION);
+        Files.createDirectories(indexFile.getParent());
+        Files.write(indexFile, Collections.singletonList(IndexedAnnotated.class.getName() + "="
+                + Marker.class.getName()), StandardCharsets.UTF_8);
+
+        //indexed目录在前,复制过去的类从indexed目录加载
+        classLoader = new URLClassLoader(new URL[]{indexed.toUri().toURL(), testClasses.toUri().toURL()},
+                ClassLoader.getSystemClassLoader().getParent());
+        annotationIndex = SwaggerAnnotationIndex.load(classLoader);
+        marker = (Class<? extends Annotation>) classLoader.loadClass(Marker.class.getName());
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        classLoader.close();
+        try (Stream<Path> paths = Files.walk(indexed)) {
+            for (Path path : paths.sorted(Collections.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Test
+    public void classesInIndexedRootFollowTheIndex() throws ClassNotFoundException {
+        assertNotNull(annotationIndex);
+        assertTrue(annotationIndex.isCandidate(marker, load(IndexedAnnotated.class)));
+        //索引中没有的类不再反射查找
+        assertFalse(annotationIndex.isCandidate(marker, load(Unlisted.class)));
+    }
+
+    @Test
+    public void classesWithoutIndexAreScannedByReflection() throws ClassNotFoundException {
+        assertTrue(annotationIndex.isCandidate(marker, load(Annotated.class)));
+        assertFalse(annotationIndex.isCandidate(marker, load(Plain.class)));
+    }
+
+    @Test
+    public void superclassWithoutIndexIsScannedByReflection() throws ClassNotFoundException {
+        assertTrue(annotationIndex.isCandidate(marker, load(IndexedChild.class)));
+    }
+
+    @Test
+    public void noIndexInClasspath() throws IOException {
+        try (URLClassLoader withoutIndex = new URLClassLoader(new URL[0],
+                ClassLoader.getSystemClassLoader().getParent())) {
+            assertNull(SwaggerAnnotationIndex.load(withoutIndex));
+        }
+    }
+
+    private Class<?> load(Class<?> clazz) throws ClassNotFoundException {
+        return classLoader.loadClass(clazz.getName());
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.METHOD)
+    public @interface Marker {
+    }
+
+    public static class IndexedAnnotated {
+        @Marker
+        public void trigger() {
+        }
+    }
+
+    public static class Unlisted {
+        @Marker
+        public void trigger() {
+        }
+    }
+
+    public static class Annotated {
+        @Marker
+        public void trigger() {
+        }
+    }
+
+    public static class Plain {
+        public void trigger() {
+        }
+    }
+
+    public static class IndexedChild extends Annotated {
+    }
+
+}
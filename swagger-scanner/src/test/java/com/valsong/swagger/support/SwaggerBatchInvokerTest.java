@@ -0,0 +1,122 @@
+package com.valsong.swagger.support;
+
+import com.valsong.swagger.exception.SwaggerScannerException;
+import com.valsong.swagger.model.MethodProperty;
+import com.valsong.swagger.model.SwaggerBatchResult;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * SwaggerBatchInvoker
+ *
+ * @author Val Song
+ */
+public class SwaggerBatchInvokerTest {
+
+    private final Calculator calculator = new Calculator();
+
+    private SimpleSwaggerApiRegistry registry;
+
+    private SwaggerBatchInvoker batchInvoker;
+
+    @Before
+    public void setUp() throws NoSuchMethodException {
+        registry = new SimpleSwaggerApiRegistry();
+        registry.registerTriggerMethod("calculator.add", new MethodProperty("calculator", calculator,
+                Calculator.class.getMethod("add", int.class, int.class), (Class<?>) null));
+        registry.registerTriggerMethod("calculator.await", new MethodProperty("calculator", calculator,
+                Calculator.class.getMethod("await"), (Class<?>) null));
+        new SwaggerScannerInvoker(registry);
+        batchInvoker = new SwaggerBatchInvoker(2);
+    }
+
+    @After
+    public void tearDown() {
+        batchInvoker.shutdown();
+    }
+
+    @Test
+    public void entriesAreInvokedInOrder() {
+        List<CompletableFuture<SwaggerBatchResult>> results = batchInvoker.invoke(new StringReader(
+                "[{\"method\":\"calculator.add\",\"body\":{\"a\":1,\"b\":2}},"
+                        + "{\"method\":\"calculator.add\",\"body\":{\"a\":3}},"
+                        + "{\"method\":\"calculator.add\",\"body\":[1]},"
+                        + "{\"method\":\"missing\"}]"));
+
+        assertEquals(4, results.size());
+        assertEquals(3, results.get(0).join().getResult());
+        //缺失的基本类型参数使用默认值
+        assertEquals(3, results.get(1).join().getResult());
+        assertEquals(SwaggerBatchResult.BAD_REQUEST, results.get(2).join().getStatus());
+        assertEquals(SwaggerBatchResult.NOT_FOUND, results.get(3).join().getStatus());
+        assertEquals(2, calculator.invocations.get());
+
+        //每个调用的参数大小记录到对应方法的统计中
+        MethodMetrics metrics = registry.getTriggerMethod("calculator.add").getMetrics();
+        assertEquals(3L, metrics.getRequestBytes().getCount());
+        assertEquals("{\"a\":1,\"b\":2}".length() + "{\"a\":3}".length() + "[1]".length(),
+                metrics.getRequestBytes().getSum());
+        assertSame(metrics, results.get(0).join().getMetrics());
+    }
+
+    @Test
+    public void entriesOverTheQueueAreRejected() throws InterruptedException {
+        SwaggerBatchInvoker bounded = new SwaggerBatchInvoker(1, 1);
+        try {
+            //第一个调用占用唯一的线程,第二个进入队列,第三个被拒绝
+            List<CompletableFuture<SwaggerBatchResult>> results = bounded.invoke(new StringReader(
+                    "[{\"method\":\"calculator.await\"},{\"method\":\"calculator.add\",\"body\":{\"a\":1}},"
+                            + "{\"method\":\"calculator.add\",\"body\":{\"a\":2}}]"));
+            assertEquals(SwaggerBatchResult.UNAVAILABLE, results.get(2).join().getStatus());
+
+            calculator.latch.countDown();
+            assertEquals(SwaggerBatchResult.OK, results.get(0).join().getStatus());
+            assertEquals(1, results.get(1).join().getResult());
+        } finally {
+            calculator.latch.countDown();
+            bounded.shutdown();
+        }
+    }
+
+    @Test
+    public void malformedRequestInvokesNothing() {
+        try {
+            batchInvoker.invoke(new StringReader(
+                    "[{\"method\":\"calculator.add\",\"body\":{\"a\":1,\"b\":2}},"
+                            + "{\"method\":\"calculator.add\",\"body\":{\"a\":}]"));
+            fail("malformed request should be rejected");
+        } catch (SwaggerScannerException e) {
+            //请求体不合法时前面的调用也不会执行
+        }
+        assertEquals(0, calculator.invocations.get());
+    }
+
+    public static class Calculator {
+
+        private final AtomicInteger invocations = new AtomicInteger();
+
+        private final CountDownLatch latch = new CountDownLatch(1);
+
+        public int add(int a, int b) {
+            invocations.incrementAndGet();
+            return a + b;
+        }
+
+        public boolean await() throws InterruptedException {
+            return latch.await(10, TimeUnit.SECONDS);
+        }
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.valsong.swagger.support;
+
+import com.valsong.swagger.exception.SwaggerScannerException;
+import org.junit.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * SwaggerDeferredScanStage
+ *
+ * @author Val Song
+ */
+public class SwaggerDeferredScanStageTest {
+
+    @Test
+    public void deferredScansRunInParallelOnFirstRun() throws InterruptedException {
+        SwaggerDeferredScanStage stage = new SwaggerDeferredScanStage(4);
+        //4个扫描互相等待,只有并行执行时才能全部完成
+        CountDownLatch latch = new CountDownLatch(4);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        for (int i = 0; i < 4; i++) {
+            stage.defer(() -> {
+                threads.add(Thread.currentThread().getName());
+                latch.countDown();
+                try {
+                    assertTrue(latch.await(10, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        assertEquals(4, latch.getCount());
+        assertFalse(stage.isStarted());
+
+        stage.run(new SimpleSwaggerApiRegistry());
+
+        assertEquals(0, latch.getCount());
+        assertEquals(4, threads.size());
+        assertTrue(stage.isStarted());
+    }
+
+    @Test
+    public void scansDeferredAfterFirstRunAreExecutedImmediately() {
+        SwaggerDeferredScanStage stage = new SwaggerDeferredScanStage(2);
+        stage.run(new SimpleSwaggerApiRegistry());
+
+        AtomicInteger scanned = new AtomicInteger();
+        Thread caller = Thread.currentThread();
+        stage.defer(() -> {
+            assertSame(caller, Thread.currentThread());
+            scanned.incrementAndGet();
+        });
+
+        assertEquals(1, scanned.get());
+    }
+
+    @Test
+    public void failuresAreAggregated() {
+        SwaggerDeferredScanStage stage = new SwaggerDeferredScanStage(2);
+        AtomicInteger scanned = new AtomicInteger();
+        stage.defer(() -> {
+            throw new IllegalStateException("first");
+        });
+        stage.defer(scanned::incrementAndGet);
+        stage.defer(() -> {
+            throw new IllegalStateException("second");
+        });
+
+        try {
+            stage.run(new SimpleSwaggerApiRegistry());
+            fail("failed scans should be reported");
+        } catch (SwaggerScannerException e) {
+            assertEquals(1, e.getSuppressed().length);
+        }
+        //其他扫描不受影响,之后的扫描不再延迟
+        assertEquals(1, scanned.get());
+        assertTrue(stage.isStarted());
+        stage.defer(scanned::incrementAndGet);
+        assertEquals(2, scanned.get());
+    }
+
+}
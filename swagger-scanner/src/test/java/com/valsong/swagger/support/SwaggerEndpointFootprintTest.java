@@ -0,0 +1,156 @@
+package com.valsong.swagger.support;
+
+import com.valsong.swagger.model.MethodProperty;
+import com.valsong.swagger.scanner.AbstractSwaggerBeanScanner;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.annotation.AnnotationDescription;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.FixedValue;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import springfox.documentation.service.Tag;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.Method;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 每个页面触发的方法常驻的内存
+ * <p>
+ * 使用byte buddy生成一个有ENDPOINTS个不同方法的bean,比较扫描注册前后的堆内存,
+ * 包括MethodProperty、SwaggerApiProperty、方法描述、调用器、参数绑定器和调用统计;
+ * 方法本身的Method对象在注册之前已经创建,不计入
+ *
+ * @author Val Song
+ */
+public class SwaggerEndpointFootprintTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(SwaggerEndpointFootprintTest.class);
+
+    private static final int ENDPOINTS = 2000;
+
+    /**
+     * 注册后每个方法的上限
+     */
+    private static final long REGISTERED_BUDGET = 4 * 1024;
+
+    /**
+     * 调用过一次后每个方法的上限,包括耗时和字节数的直方图
+     */
+    private static final long INVOKED_BUDGET = 16 * 1024;
+
+    @Test
+    public void bytesPerEndpoint() throws Exception {
+        Object bean = endpoints();
+        //Method对象和类的反射数据不计入
+        Method[] methods = bean.getClass().getDeclaredMethods();
+        assertEquals(ENDPOINTS, methods.length);
+
+        SimpleSwaggerApiRegistry registry = new SimpleSwaggerApiRegistry();
+        TriggerScanner scanner = new TriggerScanner(registry);
+
+        long before = usedHeap();
+        scanner.postProcessAfterInitialization(bean, "endpoints");
+        registry.freeze();
+        long registered = usedHeap();
+
+        assertEquals(ENDPOINTS, registry.getAllTriggerMethods().size());
+        for (MethodProperty methodProperty : registry.getAllTriggerMethods().values()) {
+            MethodMetrics metrics = methodProperty.getMetrics();
+            metrics.recordInvocation(1_000L, true);
+            metrics.recordRequestBytes(64L);
+            metrics.recordResponseBytes(128L);
+        }
+        long invoked = usedHeap();
+
+        long registeredPerEndpoint = (registered - before) / ENDPOINTS;
+        long invokedPerEndpoint = (invoked - before) / ENDPOINTS;
+        logger.info("swagger endpoint footprint: {} bytes per endpoint after registration, "
+                + "{} bytes per endpoint after the first invocation.", registeredPerEndpoint, invokedPerEndpoint);
+
+        assertTrue("registered: " + registeredPerEndpoint, registeredPerEndpoint < REGISTERED_BUDGET);
+        assertTrue("invoked: " + invokedPerEndpoint, invokedPerEndpoint < INVOKED_BUDGET);
+        //保持引用直到测量结束
+        assertEquals(ENDPOINTS, registry.getAllSwaggerApiProperties().size());
+        assertEquals(ENDPOINTS, methods.length);
+    }
+
+    /**
+     * 生成有ENDPOINTS个不同方法的bean
+     *
+     * @return
+     * @throws ReflectiveOperationException
+     */
+    private static Object endpoints() throws ReflectiveOperationException {
+        DynamicType.Builder<Object> builder = new ByteBuddy().subclass(Object.class)
+                .name(SwaggerEndpointFootprintTest.class.getName() + "$Endpoints");
+        AnnotationDescription trigger = AnnotationDescription.Builder.ofType(Trigger.class).build();
+        for (int i = 0; i < ENDPOINTS; i++) {
+            builder = builder.defineMethod("endpoint" + i, String.class, Visibility.PUBLIC)
+                    .withParameters(String.class, int.class)
+                    .intercept(FixedValue.value("ok"))
+                    .annotateMethod(trigger);
+        }
+        return builder.make()
+                .load(SwaggerEndpointFootprintTest.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded()
+                .newInstance();
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        //多次gc直到稳定
+        for (int i = 0; i < 10; i++) {
+            System.gc();
+            Thread.sleep(20L);
+            long current = runtime.totalMemory() - runtime.freeMemory();
+            if (Math.abs(used - current) < 64 * 1024) {
+                return current;
+            }
+            used = current;
+        }
+        return used;
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.METHOD)
+    public @interface Trigger {
+    }
+
+    private static class TriggerScanner extends AbstractSwaggerBeanScanner<Trigger> {
+
+        TriggerScanner(SwaggerApiRegistry swaggerApiRegistry) {
+            super(swaggerApiRegistry);
+        }
+
+        @Override
+        public Class<Trigger> methodAnnotationClazz() {
+            return Trigger.class;
+        }
+
+        @Override
+        public String pathSuffix(Trigger methodAnnotation, MethodProperty methodProperty) {
+            return null;
+        }
+
+        @Override
+        public Tag tag(Trigger methodAnnotation, MethodProperty methodProperty) {
+            return new Tag("endpoints", "endpoints");
+        }
+
+        @Override
+        public boolean isAccept(Trigger methodAnnotation, MethodProperty methodProperty) {
+            return true;
+        }
+    }
+
+}
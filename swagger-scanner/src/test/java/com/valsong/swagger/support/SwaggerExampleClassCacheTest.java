@@ -0,0 +1,135 @@
+package com.valsong.swagger.support;
+
+import com.valsong.swagger.util.SwaggerExampleClassBuilder;
+import com.valsong.swagger.util.SwaggerExampleClassLoader;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * SwaggerExampleClassCache
+ *
+ * @author Val Song
+ */
+public class SwaggerExampleClassCacheTest {
+
+    private static final long RETENTION_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path directory;
+
+    @Before
+    public void setUp() {
+        directory = folder.getRoot().toPath();
+    }
+
+    @Test
+    public void corruptClassIsEvictedAndRegenerated() throws Exception {
+        Method find = OrderService.class.getMethod("find", long.class, String.class);
+        Class<?> generated = build(new SwaggerExampleClassCache(directory), find);
+        List<Path> classFiles = files("classes");
+        assertEquals(1, classFiles.size());
+        byte[] bytes = Files.readAllBytes(classFiles.get(0));
+
+        //进程在写入时被终止或者磁盘损坏
+        Files.write(classFiles.get(0), new byte[]{1, 2, 3});
+
+        SwaggerExampleClassLoader exampleClassLoader = exampleClassLoader(new SwaggerExampleClassCache(directory));
+        Class<?> regenerated = SwaggerExampleClassBuilder.build(find, OrderService.class, exampleClassLoader);
+        assertSame(exampleClassLoader, regenerated.getClassLoader());
+        assertEquals(generated.getName(), regenerated.getName());
+        assertArrayEquals(bytes, Files.readAllBytes(classFiles.get(0)));
+    }
+
+    @Test
+    public void pruneRemovesExpiredUnusedEntries() throws Exception {
+        Method find = OrderService.class.getMethod("find", long.class, String.class);
+        Method cancel = OrderService.class.getMethod("cancel", long.class);
+        Method audit = OrderService.class.getMethod("audit", String.class);
+        SwaggerExampleClassCache previous = new SwaggerExampleClassCache(directory, RETENTION_MILLIS);
+        build(previous, find);
+        build(previous, cancel);
+        build(previous, audit);
+        assertEquals(3, files("methods").size());
+        assertEquals(3, files("classes").size());
+
+        //find和audit很久没有使用,cancel刚刚使用过
+        Path expired = methodFile(find);
+        Files.setLastModifiedTime(expired, FileTime.fromMillis(System.currentTimeMillis() - 2 * RETENTION_MILLIS));
+        Path auditFile = methodFile(audit);
+        FileTime auditTime = FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(2));
+        Files.setLastModifiedTime(auditFile, auditTime);
+
+        SwaggerExampleClassCache current = new SwaggerExampleClassCache(directory, TimeUnit.DAYS.toMillis(3));
+        build(current, audit);
+        Files.write(directory.resolve("classes").resolve("0123abcd.class"), new byte[]{1});
+        current.prune();
+        //保留时间内的记录都保留,没有被引用的class删除
+        assertEquals(3, files("methods").size());
+        assertEquals(3, files("classes").size());
+
+        new SwaggerExampleClassCache(directory, RETENTION_MILLIS).prune();
+        //本次启动没有使用的find过期删除,它的class不再被引用
+        assertFalse(Files.exists(expired));
+        assertEquals(2, files("methods").size());
+        assertEquals(2, files("classes").size());
+        //使用过的记录更新了修改时间
+        assertNotEquals(auditTime, Files.getLastModifiedTime(auditFile));
+        assertTrue(Files.exists(methodFile(cancel)));
+    }
+
+    private Class<?> build(SwaggerExampleClassCache exampleClassCache, Method method) {
+        return SwaggerExampleClassBuilder.build(method, OrderService.class, exampleClassLoader(exampleClassCache));
+    }
+
+    private static SwaggerExampleClassLoader exampleClassLoader(SwaggerExampleClassCache exampleClassCache) {
+        return new SwaggerExampleClassLoader(SwaggerExampleClassCacheTest.class.getClassLoader(), exampleClassCache);
+    }
+
+    private Path methodFile(Method method) {
+        return directory.resolve("methods")
+                .resolve(SwaggerExampleClassBuilder.prebuiltKey(method, OrderService.class) + ".key");
+    }
+
+    private List<Path> files(String subDirectory) throws IOException {
+        try (Stream<Path> paths = Files.list(directory.resolve(subDirectory))) {
+            return paths.collect(Collectors.toList());
+        }
+    }
+
+    public static class OrderService {
+
+        public String find(long id, String status) {
+            return "order-" + id + " " + status;
+        }
+
+        public String cancel(long id) {
+            return "order-" + id + " cancelled";
+        }
+
+        public String audit(String operator) {
+            return "audited by " + operator;
+        }
+    }
+
+}
@@ -0,0 +1,190 @@
+package com.valsong.swagger.support;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.support.ApplicationObjectSupport;
+
+import java.io.File;
+import java.lang.annotation.Annotation;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * SwaggerScanSnapshot
+ * <p>
+ * 指纹只包括用户代码中的类,不读取框架jar;
+ * 启动耗时比较没有快照时反射扫描和快照命中时junit jar中所有类的扫描
+ *
+ * @author Val Song
+ */
+public class SwaggerScanSnapshotTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(SwaggerScanSnapshotTest.class);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void frameworkSupertypesAreNotFingerprinted() {
+        String fingerprint = SwaggerScanSnapshot.fingerprint(OrderController.class);
+
+        assertTrue(fingerprint, fingerprint.startsWith(OrderController.class.getName() + "@"));
+        assertTrue(fingerprint, fingerprint.contains(BaseController.class.getName() + "@"));
+        assertTrue(fingerprint, fingerprint.contains(Auditable.class.getName() + "@"));
+        assertFalse(fingerprint, fingerprint.contains("org.springframework."));
+        assertFalse(fingerprint, fingerprint.contains("java."));
+    }
+
+    @Test
+    public void onlyFrameworkPackagesAreSkipped() {
+        assertTrue(SwaggerScanSnapshot.isFrameworkClass("com.google.gson.Gson"));
+        assertTrue(SwaggerScanSnapshot.isFrameworkClass("org.apache.commons.lang3.StringUtils"));
+        assertTrue(SwaggerScanSnapshot.isFrameworkClass("org.apache.catalina.core.StandardContext"));
+        //组织前缀相同的用户代码计入指纹
+        assertFalse(SwaggerScanSnapshot.isFrameworkClass("com.google.ads.OrderController"));
+        assertFalse(SwaggerScanSnapshot.isFrameworkClass("org.apache.shop.BaseController"));
+    }
+
+    @Test
+    public void jarClassesUseSizeAndCrc() {
+        //org.junit.Assert在jar中,父类是Object
+        String fingerprint = SwaggerScanSnapshot.fingerprint(org.junit.Assert.class);
+        assertTrue(fingerprint, fingerprint.matches("org\\.junit\\.Assert@\\d+:[0-9a-f]+;"));
+        //JDK中的类没有指纹,不使用快照
+        assertNull(SwaggerScanSnapshot.fingerprint(String.class));
+    }
+
+    @Test
+    public void unchangedClassesAreReadFromTheSnapshot() throws Exception {
+        Path file = folder.getRoot().toPath().resolve("scan-snapshot.json");
+        AtomicInteger scans = new AtomicInteger();
+        BiFunction<Class<Audit>, Class<?>, List<Method>> scanner = (annotationClazz, clazz) -> {
+            scans.incrementAndGet();
+            return scan(annotationClazz, clazz);
+        };
+
+        SwaggerScanSnapshot first = new SwaggerScanSnapshot(file);
+        List<Method> scanned = first.annotatedMethods(Audit.class, OrderController.class, scanner);
+        first.save();
+        assertEquals(1, scans.get());
+        assertEquals(Arrays.asList(OrderController.class.getMethod("cancel", long.class),
+                BaseController.class.getMethod("audit", String.class)), scanned);
+
+        List<Method> restored = new SwaggerScanSnapshot(file)
+                .annotatedMethods(Audit.class, OrderController.class, scanner);
+        assertEquals(1, scans.get());
+        assertEquals(scanned, restored);
+    }
+
+    @Test
+    public void startupMeasurement() throws Exception {
+        List<Class<?>> classes = jarClasses(org.junit.Assert.class);
+        Path file = folder.getRoot().toPath().resolve("scan-snapshot.json");
+
+        long start = System.nanoTime();
+        SwaggerScanSnapshot cold = new SwaggerScanSnapshot(file);
+        classes.forEach(clazz -> cold.annotatedMethods(Test.class, clazz, SwaggerScanSnapshotTest::scan));
+        cold.save();
+        long coldNanos = System.nanoTime() - start;
+
+        AtomicInteger scans = new AtomicInteger();
+        start = System.nanoTime();
+        SwaggerScanSnapshot warm = new SwaggerScanSnapshot(file);
+        classes.forEach(clazz -> warm.annotatedMethods(Test.class, clazz, (annotationClazz, type) -> {
+            scans.incrementAndGet();
+            return scan(annotationClazz, type);
+        }));
+        long warmNanos = System.nanoTime() - start;
+
+        logger.info("swagger scan snapshot of {} classes: {} ms without snapshot, {} ms with snapshot.",
+                classes.size(), coldNanos / 1_000_000, warmNanos / 1_000_000);
+        assertEquals(0, scans.get());
+    }
+
+    /**
+     * 反射扫描类及其父类中标有注解的public方法
+     */
+    private static <A extends Annotation> List<Method> scan(Class<A> annotationClazz, Class<?> clazz) {
+        List<Method> methods = new ArrayList<>();
+        for (Class<?> type = clazz; type != null && type != Object.class; type = type.getSuperclass()) {
+            Arrays.stream(type.getDeclaredMethods())
+                    .filter(method -> method.isAnnotationPresent(annotationClazz))
+                    .forEach(methods::add);
+        }
+        return methods;
+    }
+
+    /**
+     * jar中所有可以加载的顶层类
+     */
+    private static List<Class<?>> jarClasses(Class<?> clazz) throws Exception {
+        File jar = new File(clazz.getProtectionDomain().getCodeSource().getLocation().toURI());
+        List<String> names = new ArrayList<>();
+        try (JarFile jarFile = new JarFile(jar)) {
+            Enumeration<JarEntry> entries = jarFile.entries();
+            while (entries.hasMoreElements()) {
+                String name = entries.nextElement().getName();
+                if (name.endsWith(".class") && !name.contains("$")) {
+                    names.add(name.substring(0, name.length() - ".class".length()).replace('/', '.'));
+                }
+            }
+        }
+        return names.stream().map(name -> {
+            try {
+                return (Class<?>) Class.forName(name, false, clazz.getClassLoader());
+            } catch (ClassNotFoundException | LinkageError e) {
+                return null;
+            }
+        }).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.METHOD)
+    public @interface Audit {
+    }
+
+    public interface Auditable {
+
+        String audit(String operator);
+    }
+
+    public static class BaseController extends ApplicationObjectSupport implements Auditable {
+
+        @Audit
+        @Override
+        public String audit(String operator) {
+            return "audited by " + operator;
+        }
+    }
+
+    public static class OrderController extends BaseController {
+
+        @Audit
+        public String cancel(long id) {
+            return "order-" + id + " cancelled";
+        }
+    }
+
+}
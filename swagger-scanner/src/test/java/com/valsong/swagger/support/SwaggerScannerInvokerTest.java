@@ -0,0 +1,102 @@
+package com.valsong.swagger.support;
+
+import com.valsong.swagger.annotation.SwaggerCacheable;
+import com.valsong.swagger.model.MethodProperty;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+/**
+ * SwaggerScannerInvoker
+ *
+ * @author Val Song
+ */
+public class SwaggerScannerInvokerTest {
+
+    private final Calculator calculator = new Calculator();
+
+    private SimpleSwaggerApiRegistry registry;
+
+    private SwaggerScannerInvoker invoker;
+
+    @Before
+    public void setUp() throws NoSuchMethodException {
+        registry = new SimpleSwaggerApiRegistry();
+        Method method = Calculator.class.getMethod("sum", Map.class);
+        MethodProperty methodProperty = new MethodProperty("calculator", calculator, method, (Class<?>) null);
+        methodProperty.setCacheable(method.getAnnotation(SwaggerCacheable.class));
+        registry.registerTriggerMethod("calculator.sum", methodProperty);
+        invoker = new SwaggerScannerInvoker(registry);
+    }
+
+    @After
+    public void tearDown() {
+        invoker.close();
+        registry.close();
+    }
+
+    @Test
+    public void cacheKeyDoesNotDependOnMapOrder() {
+        Map<String, Integer> ab = new LinkedHashMap<>();
+        ab.put("a", 1);
+        ab.put("b", 2);
+        Map<String, Integer> ba = new LinkedHashMap<>();
+        ba.put("b", 2);
+        ba.put("a", 1);
+
+        assertEquals(SwaggerScannerInvoker.canonicalJson(new Object[]{ab}),
+                SwaggerScannerInvoker.canonicalJson(new Object[]{ba}));
+
+        assertEquals(3, SwaggerScannerInvoker.invoke("calculator.sum", "{\"values\":{\"a\":1,\"b\":2}}"));
+        assertEquals(3, SwaggerScannerInvoker.invoke("calculator.sum", "{\"values\":{\"b\":2,\"a\":1}}"));
+        assertEquals(1, calculator.invocations.get());
+    }
+
+    @Test
+    public void cacheKeyKeepsDatePrecision() {
+        long time = 1700000000000L;
+        assertNotEquals(SwaggerScannerInvoker.canonicalJson(new Object[]{new Date(time)}),
+                SwaggerScannerInvoker.canonicalJson(new Object[]{new Date(time + 1)}));
+
+        Timestamp timestamp = new Timestamp(time);
+        Timestamp nanosLater = new Timestamp(time);
+        nanosLater.setNanos(timestamp.getNanos() + 1);
+        assertNotEquals(SwaggerScannerInvoker.canonicalJson(new Object[]{timestamp}),
+                SwaggerScannerInvoker.canonicalJson(new Object[]{nanosLater}));
+    }
+
+    @Test
+    public void cacheHitsAreRecorded() {
+        for (int i = 0; i < 3; i++) {
+            SwaggerScannerInvoker.invoke("calculator.sum", "{\"values\":{\"a\":1,\"b\":2}}");
+        }
+
+        MethodMetrics metrics = SwaggerScannerInvoker.getTriggerMethod("calculator.sum").getMetrics();
+        assertEquals(1, calculator.invocations.get());
+        assertEquals(3L, metrics.getCalls());
+        assertEquals(3L, metrics.getLatency().getCount());
+        assertEquals(2L, metrics.getResultCache().getHits());
+    }
+
+    public static class Calculator {
+
+        private final AtomicInteger invocations = new AtomicInteger();
+
+        @SwaggerCacheable(maxSize = 10)
+        public int sum(Map<String, Integer> values) {
+            invocations.incrementAndGet();
+            return values.values().stream().mapToInt(Integer::intValue).sum();
+        }
+    }
+
+}
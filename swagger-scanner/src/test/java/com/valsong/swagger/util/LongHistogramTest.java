@@ -0,0 +1,79 @@
+package com.valsong.swagger.util;
+
+import org.junit.Test;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * LongHistogram
+ *
+ * @author Val Song
+ */
+public class LongHistogramTest {
+
+    @Test
+    public void emptyHistogram() {
+        LongHistogram histogram = new LongHistogram();
+        assertEquals(0L, histogram.getCount());
+        assertEquals(0L, histogram.getPercentile(0.99));
+        assertEquals(0D, histogram.getMean(), 0D);
+    }
+
+    @Test
+    public void bucketsCoverAllValues() {
+        for (int bits = 0; bits <= 8; bits++) {
+            int buckets = LongHistogram.bucketCount(bits);
+            long[] values = {0L, 1L, 15L, 16L, 17L, 1000L, 1L << 40, Long.MAX_VALUE};
+            for (long value : values) {
+                int index = LongHistogram.bucketIndex(value, bits);
+                assertTrue(index < buckets);
+                long upperBound = LongHistogram.bucketUpperBound(index, bits);
+                assertTrue(value + " in bucket " + index + " with bits " + bits, value <= upperBound);
+                //相对误差不超过1/2^bits
+                assertTrue(upperBound - value <= Math.max(0L, value >> bits));
+            }
+            for (int i = 0; i < 100_000; i++) {
+                long value = ThreadLocalRandom.current().nextLong(Long.MAX_VALUE);
+                int index = LongHistogram.bucketIndex(value, bits);
+                assertTrue(value <= LongHistogram.bucketUpperBound(index, bits));
+                assertTrue(index == 0 || value > LongHistogram.bucketUpperBound(index - 1, bits));
+            }
+        }
+    }
+
+    @Test
+    public void percentiles() {
+        LongHistogram fine = new LongHistogram();
+        LongHistogram coarse = new LongHistogram(1);
+        for (long i = 1; i <= 10_000; i++) {
+            fine.record(i);
+            coarse.record(i);
+        }
+
+        assertEquals(10_000L, fine.getCount());
+        assertEquals(50_005_000L, fine.getSum());
+        assertEquals(10_000L, fine.getMax());
+        assertWithin(5_000L, fine.getPercentile(0.5), 1D / 16);
+        assertWithin(9_900L, fine.getPercentile(0.99), 1D / 16);
+        assertWithin(5_000L, coarse.getPercentile(0.5), 1D / 2);
+        assertWithin(9_900L, coarse.getPercentile(0.99), 1D / 2);
+        assertEquals(10_000L, fine.getPercentile(1D));
+    }
+
+    @Test
+    public void negativeValuesAreRecordedAsZero() {
+        LongHistogram histogram = new LongHistogram();
+        histogram.record(-5L);
+        assertEquals(0L, histogram.getSum());
+        assertEquals(0L, histogram.getPercentile(0.5));
+    }
+
+    private static void assertWithin(long expected, long actual, double relativeError) {
+        assertTrue("expected " + expected + " but was " + actual,
+                actual >= expected && actual <= expected * (1 + relativeError));
+    }
+
+}
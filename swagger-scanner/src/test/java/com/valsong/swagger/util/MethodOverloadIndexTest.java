@@ -0,0 +1,64 @@
+package com.valsong.swagger.util;
+
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * MethodOverloadIndex
+ *
+ * @author Val Song
+ */
+public class MethodOverloadIndexTest {
+
+    @Test
+    public void inheritedOverloadsGetDistinctOrdinals() throws NoSuchMethodException {
+        Method byId = BaseService.class.getMethod("find", long.class);
+        Method byName = OrderService.class.getMethod("find", String.class);
+
+        //父类和子类中声明的重载方法在子类的全部方法中排序
+        assertEquals(0, MethodOverloadIndex.ordinal(byName, OrderService.class));
+        assertEquals(1, MethodOverloadIndex.ordinal(byId, OrderService.class));
+        assertEquals(0, MethodOverloadIndex.ordinal(byId, BaseService.class));
+    }
+
+    @Test
+    public void bridgeMethodsAreSkipped() throws NoSuchMethodException {
+        Method save = OrderService.class.getMethod("save", String.class);
+        Method saveAll = OrderService.class.getMethod("save", String.class, int.class);
+
+        //save(Object)桥接方法不占用序号
+        assertEquals(0, MethodOverloadIndex.ordinal(save, OrderService.class));
+        assertEquals(1, MethodOverloadIndex.ordinal(saveAll, OrderService.class));
+    }
+
+    public static class BaseService<T> {
+
+        public String find(long id) {
+            return "order-" + id;
+        }
+
+        public T save(T value) {
+            return value;
+        }
+    }
+
+    public static class OrderService extends BaseService<String> {
+
+        public String find(String name) {
+            return name;
+        }
+
+        @Override
+        public String save(String value) {
+            return value;
+        }
+
+        public String save(String value, int times) {
+            return value + times;
+        }
+    }
+
+}
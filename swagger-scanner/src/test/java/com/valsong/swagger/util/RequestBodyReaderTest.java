@@ -0,0 +1,67 @@
+package com.valsong.swagger.util;
+
+import com.valsong.swagger.exception.RequestBodyTooLargeException;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * RequestBodyReader
+ *
+ * @author Val Song
+ */
+public class RequestBodyReaderTest {
+
+    @Test
+    public void maxBodySizeIsClampedToIntRange() throws IOException {
+        RequestBodyReader reader = new RequestBodyReader(Long.MAX_VALUE);
+        assertEquals(Integer.MAX_VALUE, reader.getMaxBodySize());
+
+        try (RequestBody body = reader.read(new ByteArrayInputStream(bytes("{\"a\":1}")), -1L)) {
+            assertEquals(7, body.length());
+            assertEquals("{\"a\":1}", body.toString());
+        }
+        try {
+            reader.read(new ByteArrayInputStream(new byte[0]), Integer.MAX_VALUE + 1L);
+            fail("Content-Length over the limit should be rejected");
+        } catch (RequestBodyTooLargeException e) {
+            //不读取请求体
+        }
+    }
+
+    @Test
+    public void bodyOverTheLimitIsRejected() throws IOException {
+        RequestBodyReader reader = new RequestBodyReader(RequestBodyReader.CHUNK_SIZE + 1);
+        byte[] bytes = new byte[RequestBodyReader.CHUNK_SIZE + 2];
+        try {
+            reader.read(new ByteArrayInputStream(bytes), -1L);
+            fail("body over the limit should be rejected");
+        } catch (RequestBodyTooLargeException e) {
+            assertEquals(RequestBodyReader.CHUNK_SIZE + 1, reader.getMaxBodySize());
+        }
+    }
+
+    @Test
+    public void truncatedBodyEndsOnCharacterBoundary() throws IOException {
+        //1 + 3 + 3 + 4 个字节
+        String value = "a\u4e2d\u6587\ud83d\ude00";
+        int[] expectedChars = {0, 1, 1, 1, 2, 2, 2, 3, 3, 3, 3, 5};
+        try (RequestBody body = new RequestBodyReader(1024).read(new ByteArrayInputStream(bytes(value)), -1L)) {
+            assertEquals(11, body.length());
+            for (int maxBytes = 0; maxBytes <= body.length(); maxBytes++) {
+                assertEquals("maxBytes: " + maxBytes, value.substring(0, expectedChars[maxBytes]),
+                        body.toString(maxBytes));
+            }
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+}